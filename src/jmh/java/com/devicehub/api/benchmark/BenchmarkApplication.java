@@ -0,0 +1,65 @@
+package com.devicehub.api.benchmark;
+
+import com.devicehub.api.DeviceHubApplication;
+import com.devicehub.api.config.BatchProperties;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.service.DeviceBulkService;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database,
+ * so benchmarks measure the same beans, transactions and cache as production.
+ */
+final class BenchmarkApplication {
+
+    static final List<String> BRANDS = List.of(
+            "Apple", "Samsung", "Google", "Lenovo", "Dell", "HP", "Asus", "Acer", "Sony", "Xiaomi");
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Start a context whose database is seeded with {@code deviceCount} devices.
+     * Brands cycle through {@link #BRANDS}; states alternate between AVAILABLE and INACTIVE
+     * so that every device may be updated.
+     *
+     * @param deviceCount number of devices to seed
+     * @return the running context, to be closed by the caller
+     */
+    static ConfigurableApplicationContext start(int deviceCount) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DeviceHubApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                // Command-line arguments take precedence over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.devicehub.api=WARN");
+        seed(context, deviceCount);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int deviceCount) {
+        DeviceBulkService bulkService = context.getBean(DeviceBulkService.class);
+        int maxItems = context.getBean(BatchProperties.class).maxItems();
+
+        for (int from = 0; from < deviceCount; from += maxItems) {
+            List<DeviceCreateRequest> batch = new ArrayList<>(maxItems);
+            for (int i = from; i < Math.min(from + maxItems, deviceCount); i++) {
+                batch.add(newDevice(i));
+            }
+            bulkService.createAll(batch.iterator());
+        }
+    }
+
+    static DeviceCreateRequest newDevice(int i) {
+        DeviceState state = i % 2 == 0 ? DeviceState.AVAILABLE : DeviceState.INACTIVE;
+        return new DeviceCreateRequest("Device " + i, BRANDS.get(i % BRANDS.size()), state);
+    }
+}
@@ -0,0 +1,88 @@
+package com.devicehub.api.benchmark;
+
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.repository.DeviceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading devices as managed entities mapped to responses, versus constructor-expression
+ * projections straight into {@link DeviceResponse}. Both run in a read-only transaction,
+ * as the service does. Run with {@code -prof gc} to compare allocation per operation
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeviceProjectionBenchmark {
+
+    private static final String BRAND = BenchmarkApplication.BRANDS.get(0);
+
+    @Param({"1000", "10000", "100000"})
+    public int deviceCount;
+
+    private ConfigurableApplicationContext context;
+    private DeviceRepository deviceRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(deviceCount);
+        deviceRepository = context.getBean(DeviceRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findAllEntities() {
+        return readOnly.execute(status -> toResponses(deviceRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findAllProjected() {
+        return readOnly.execute(status -> deviceRepository.findAllResponses());
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findByBrandEntities() {
+        return readOnly.execute(status -> toResponses(deviceRepository.findByBrandIgnoreCase(BRAND)));
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findByBrandProjected() {
+        return readOnly.execute(status -> deviceRepository.findResponsesByBrand(BRAND));
+    }
+
+    private static List<DeviceResponse> toResponses(List<Device> devices) {
+        return devices.stream()
+                .map(device -> new DeviceResponse(device.getId(), device.getName(), device.getBrand(),
+                        device.getState(), device.getCreationTime(), device.getVersion()))
+                .toList();
+    }
+}
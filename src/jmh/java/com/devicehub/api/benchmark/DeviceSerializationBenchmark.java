@@ -0,0 +1,65 @@
+package com.devicehub.api.benchmark;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of device lists as returned by {@code GET /api/devices}.
+ * The mapper mirrors the application's Jackson settings (ISO dates, UTC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeviceSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private List<DeviceResponse> devices;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .build()
+                .writerFor(new TypeReference<List<DeviceResponse>>() { });
+
+        LocalDateTime now = LocalDateTime.now();
+        devices = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            devices.add(new DeviceResponse((long) i, "Device " + i,
+                    BenchmarkApplication.BRANDS.get(i % BenchmarkApplication.BRANDS.size()),
+                    DeviceState.values()[i % DeviceState.values().length], now.minusSeconds(i), 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(devices);
+    }
+}
@@ -0,0 +1,92 @@
+package com.devicehub.api.benchmark;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.service.DeviceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level benchmarks against a seeded H2 database.
+ * Each {@code deviceCount} gets its own application context and database.
+ *
+ * <p>{@code findById} reads random ids, so it measures the mix of cache hits and misses
+ * produced by the configured cache size. {@code create} grows the table by one row per
+ * invocation, which is negligible next to the seeded sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeviceServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int deviceCount;
+
+    private ConfigurableApplicationContext context;
+    private DeviceService deviceService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(deviceCount);
+        deviceService = context.getBean(DeviceService.class);
+        firstId = deviceService.findPage(DeviceFilter.none(), null, 1).items().get(0).id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DeviceResponse findById() {
+        return deviceService.findById(randomId());
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findAll() {
+        return deviceService.findAll();
+    }
+
+    @Benchmark
+    public List<DeviceResponse> findByBrand() {
+        List<String> brands = BenchmarkApplication.BRANDS;
+        return deviceService.findByBrand(brands.get(ThreadLocalRandom.current().nextInt(brands.size())));
+    }
+
+    @Benchmark
+    public DeviceResponse create() {
+        return deviceService.create(BenchmarkApplication.newDevice(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)));
+    }
+
+    @Benchmark
+    public DeviceResponse partialUpdate() {
+        DeviceState state = ThreadLocalRandom.current().nextBoolean() ? DeviceState.AVAILABLE : DeviceState.INACTIVE;
+        return deviceService.partialUpdate(randomId(), new DeviceUpdateRequest(null, null, state));
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(deviceCount);
+    }
+}
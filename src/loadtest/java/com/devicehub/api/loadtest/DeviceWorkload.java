@@ -0,0 +1,173 @@
+package com.devicehub.api.loadtest;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceBatchResponse;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStateChangeRequest;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the HTTP requests of each {@link Operation} and tracks the device ids they can target.
+ *
+ * <p>Reads and updates target seeded devices, which are never deleted and never put IN_USE,
+ * so every request is valid. Deletes target devices created during the run; when none is
+ * left, a delete degrades to a create.
+ */
+final class DeviceWorkload {
+
+    private static final List<String> BRANDS = List.of(
+            "Apple", "Samsung", "Google", "Lenovo", "Dell", "HP", "Asus", "Acer", "Sony", "Xiaomi");
+    private static final List<DeviceState> STATES = List.of(DeviceState.AVAILABLE, DeviceState.INACTIVE);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 20;
+
+    private final HttpClient httpClient;
+    private final URI devicesUri;
+    private final ObjectMapper objectMapper;
+    private final Queue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private long[] seededIds = new long[0];
+
+    DeviceWorkload(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.devicesUri = baseUri.resolve("/api/devices");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create the devices the run reads and updates, through the bulk endpoint.
+     */
+    void seed(int count) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            List<DeviceCreateRequest> batch = IntStream.range(from, Math.min(from + SEED_BATCH_SIZE, count))
+                    .mapToObj(DeviceWorkload::newDevice)
+                    .toList();
+            HttpResponse<byte[]> response = httpClient.send(
+                    post("/batch", batch), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+            }
+            objectMapper.readValue(response.body(), DeviceBatchResponse.class).results()
+                    .forEach(result -> ids.add(result.device().id()));
+        }
+        seededIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Send one request of the given operation without blocking the caller.
+     *
+     * @return completes with whether the server answered with a success status
+     */
+    CompletableFuture<Boolean> execute(Operation operation) {
+        return switch (operation) {
+            case GET -> discard(get("/" + seededId()));
+            case LIST -> discard(get("?limit=50"));
+            case LIST_FILTERED -> discard(get("?limit=50&brand=" + randomBrand() + "&state=" + randomState()));
+            case CREATE -> create();
+            case UPDATE -> discard(json("PUT", "/" + seededId(), new DeviceUpdateRequest(
+                    "Device " + random().nextInt(1_000_000), randomBrand(), randomState())));
+            case PATCH -> discard(json("PATCH", "/" + seededId(), new DeviceUpdateRequest(null, null, randomState())));
+            case DELETE -> delete();
+            case BATCH_CREATE -> discard(post("/batch", IntStream.range(0, BATCH_SIZE)
+                    .mapToObj(i -> newDevice(random().nextInt(1_000_000)))
+                    .toList()));
+            case BATCH_STATE -> discard(post("/batch/state", new DeviceStateChangeRequest(
+                    IntStream.range(0, BATCH_SIZE).mapToObj(i -> seededId()).toList(), randomState())));
+            case EXPORT -> discard(get("/export"));
+        };
+    }
+
+    private CompletableFuture<Boolean> create() {
+        return httpClient.sendAsync(post("", newDevice(random().nextInt(1_000_000))),
+                        HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 201) {
+                        return false;
+                    }
+                    try {
+                        deletable.add(objectMapper.readValue(response.body(), DeviceResponse.class).id());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    return true;
+                });
+    }
+
+    private CompletableFuture<Boolean> delete() {
+        Long id = deletable.poll();
+        if (id == null) {
+            return create();
+        }
+        return discard(HttpRequest.newBuilder(URI.create(devicesUri + "/" + id))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build());
+    }
+
+    private CompletableFuture<Boolean> discard(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() >= 200 && response.statusCode() < 300);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(devicesUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return json("POST", path, body);
+    }
+
+    private HttpRequest json(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(devicesUri + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long seededId() {
+        return seededIds[random().nextInt(seededIds.length)];
+    }
+
+    private static DeviceCreateRequest newDevice(int i) {
+        return new DeviceCreateRequest("Device " + i, BRANDS.get(i % BRANDS.size()), STATES.get(i % STATES.size()));
+    }
+
+    private static String randomBrand() {
+        return BRANDS.get(random().nextInt(BRANDS.size()));
+    }
+
+    private static DeviceState randomState() {
+        return STATES.get(random().nextInt(STATES.size()));
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+}
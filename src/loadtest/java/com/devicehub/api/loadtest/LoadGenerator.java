@@ -0,0 +1,90 @@
+package com.devicehub.api.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model load generator: requests are started asynchronously on a fixed schedule at the
+ * target rate, whether or not earlier requests have completed.
+ * A slow server therefore accumulates concurrent requests instead of silently lowering
+ * the offered load, and every request is timed from its scheduled start.
+ */
+@Slf4j
+final class LoadGenerator {
+
+    private final DeviceWorkload workload;
+    private final LoadTestConfig config;
+    private final Operation[] schedule;
+
+    LoadGenerator(DeviceWorkload workload, LoadTestConfig config) {
+        this.workload = workload;
+        this.config = config;
+        this.schedule = weightedSchedule(config.mix());
+    }
+
+    /**
+     * Run the warm-up and the measured phase.
+     *
+     * @return statistics of the measured requests per operation
+     */
+    Map<Operation, OperationStats> run() {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        config.mix().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) config.rate();
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            OperationStats target = intendedStart >= measureFrom ? stats.get(operation) : null;
+            inFlight.add(send(operation, intendedStart, target));
+        }
+
+        log.info("Schedule finished, waiting for in-flight requests");
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return stats;
+    }
+
+    private CompletableFuture<Void> send(Operation operation, long intendedStart, OperationStats stats) {
+        long sent = System.nanoTime();
+        return workload.execute(operation)
+                .exceptionally(ex -> {
+                    log.debug("Request failed: operation={}", operation, ex);
+                    return false;
+                })
+                .thenAccept(success -> {
+                    if (stats != null) {
+                        stats.record(intendedStart, sent, System.nanoTime(), success);
+                    }
+                });
+    }
+
+    /**
+     * Expand the weights into a lookup table so picking an operation is a single random index.
+     */
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+}
@@ -0,0 +1,185 @@
+package com.devicehub.api.loadtest;
+
+import com.devicehub.api.DeviceHubApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end HTTP load test of the device API.
+ *
+ * <p>For each configured thread mode the application is started in a fresh JVM on a free port
+ * with an in-memory H2 database, seeded, and driven at a fixed request rate with the
+ * configured operation mix. Every run uses the same rate, mix and durations, so virtual and
+ * platform thread results are directly comparable. Results are printed and written as JSON.
+ *
+ * <p>Server and load generator share the machine; compare runs from the same host only.
+ * Server output goes to {@code loadtest-server-<mode>.log} next to the JSON report.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<RunResult> results = new ArrayList<>();
+        for (ThreadMode mode : config.threadModes()) {
+            results.add(run(mode, config, objectMapper));
+        }
+
+        results.forEach(LoadTest::print);
+        write(config, results, objectMapper);
+    }
+
+    private static RunResult run(ThreadMode mode, LoadTestConfig config, ObjectMapper objectMapper)
+            throws IOException, InterruptedException {
+        log.info("Starting load test: threads={}, rate={}/s, warmup={}, duration={}",
+                mode.key(), config.rate(), config.warmup(), config.duration());
+
+        int port = freePort();
+        Process server = startServer(mode, port, config);
+        try {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            URI baseUri = URI.create("http://localhost:" + port);
+            awaitReady(httpClient, baseUri, server);
+
+            DeviceWorkload workload = new DeviceWorkload(httpClient, baseUri, objectMapper);
+            workload.seed(config.seedDevices());
+            Map<Operation, OperationStats> stats = new LoadGenerator(workload, config).run();
+            return RunResult.of(mode, config, stats);
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Start the application in its own JVM so that every thread mode begins from the same
+     * cold state and does not share CPU scheduling or JIT work with the load generator.
+     * Command-line arguments take precedence over application.properties.
+     */
+    private static Process startServer(ThreadMode mode, int port, LoadTestConfig config) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(config.serverJvmArgs());
+        command.addAll(List.of(
+                "-cp", System.getProperty("java.class.path"),
+                DeviceHubApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + mode.virtualThreadsEnabled(),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                // The generator is a single client; its whole rate is meant to reach the API
+                "--devicehub.rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.devicehub.api=WARN"));
+
+        Path logFile = config.resultFile().toAbsolutePath().resolveSibling("loadtest-server-" + mode.key() + ".log");
+        Files.createDirectories(logFile.getParent());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private static void awaitReady(HttpClient httpClient, URI baseUri, Process server) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Application exited during startup: exit code " + server.exitValue());
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void print(RunResult result) {
+        System.out.printf("%n%s threads: target %d req/s for %d s (latency in ms, coordinated-omission corrected)%n",
+                result.threads(), result.targetRate(), result.durationSeconds());
+        System.out.printf("%-14s %9s %7s %9s %8s %8s %8s %8s %8s %12s%n",
+                "operation", "count", "errors", "req/s", "p50", "p95", "p99", "p99.9", "max", "service p99");
+        result.operations().forEach(LoadTest::printRow);
+        printRow("total", result.total());
+    }
+
+    private static void printRow(String name, OperationStats.LatencySummary summary) {
+        System.out.printf("%-14s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %12.2f%n",
+                name, summary.count(), summary.errors(), summary.throughput(), summary.p50(), summary.p95(),
+                summary.p99(), summary.p999(), summary.max(), summary.serviceTimeP99());
+    }
+
+    private static void write(LoadTestConfig config, List<RunResult> results, ObjectMapper objectMapper)
+            throws IOException {
+        Files.createDirectories(config.resultFile().toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(config.resultFile().toFile(), results);
+        System.out.printf("%nResults written to %s%n", config.resultFile().toAbsolutePath());
+    }
+
+    /**
+     * One thread mode's results, as written to the JSON report.
+     */
+    record RunResult(
+            String threads,
+            int targetRate,
+            long warmupSeconds,
+            long durationSeconds,
+            int seedDevices,
+            Map<Operation, Integer> mix,
+            Map<String, OperationStats.LatencySummary> operations,
+            OperationStats.LatencySummary total
+    ) {
+
+        static RunResult of(ThreadMode mode, LoadTestConfig config, Map<Operation, OperationStats> stats) {
+            double seconds = config.duration().toMillis() / 1000.0;
+            Map<String, OperationStats.LatencySummary> operations = new LinkedHashMap<>();
+            OperationStats total = new OperationStats();
+            stats.forEach((operation, operationStats) -> {
+                operations.put(operation.key(), operationStats.summarize(seconds));
+                operationStats.addTo(total);
+            });
+            return new RunResult(mode.key(), config.rate(), config.warmup().toSeconds(),
+                    config.duration().toSeconds(), config.seedDevices(), config.mix(), operations,
+                    total.summarize(seconds));
+        }
+    }
+}
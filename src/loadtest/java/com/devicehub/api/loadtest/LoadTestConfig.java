@@ -0,0 +1,70 @@
+package com.devicehub.api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rate target request rate per second (open model: independent of response times)
+ * @param warmup time at the target rate before latencies are recorded
+ * @param duration measured time at the target rate
+ * @param seedDevices devices created before the run
+ * @param threadModes application thread models to run, one after the other
+ * @param mix relative weight of each operation
+ * @param serverJvmArgs extra JVM options of the application under test, e.g. {@code -Xmx1g}
+ * @param resultFile JSON report location
+ */
+record LoadTestConfig(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seedDevices,
+        List<ThreadMode> threadModes,
+        Map<Operation, Integer> mix,
+        List<String> serverJvmArgs,
+        Path resultFile
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 20)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.seed-devices", 10_000),
+                Arrays.stream(System.getProperty("loadtest.threads", "virtual,platform").split(","))
+                        .map(ThreadMode::fromKey)
+                        .toList(),
+                parseMix(System.getProperty("loadtest.mix")),
+                Arrays.stream(System.getProperty("loadtest.server-jvm-args", "").split("\\s+"))
+                        .filter(arg -> !arg.isBlank())
+                        .toList(),
+                Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json")));
+    }
+
+    /**
+     * Parse {@code get:50,patch:10,...}; operations left out do not run.
+     * Without a value every operation runs with its default weight.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        if (value == null || value.isBlank()) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.defaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
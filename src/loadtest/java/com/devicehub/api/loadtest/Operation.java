@@ -0,0 +1,41 @@
+package com.devicehub.api.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requests issued by the load test, one per {@code /api/devices} endpoint,
+ * with the default share of the mix in percent.
+ */
+enum Operation {
+    GET(40),
+    LIST(15),
+    LIST_FILTERED(10),
+    CREATE(10),
+    UPDATE(5),
+    PATCH(8),
+    DELETE(5),
+    BATCH_CREATE(2),
+    BATCH_STATE(4),
+    EXPORT(1);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Parse a mix key such as {@code list-filtered} or {@code GET}.
+     */
+    static Operation fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,76 @@
+package com.devicehub.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms of one operation.
+ *
+ * <p>Response time is measured from the moment the request was <em>scheduled</em> to be sent,
+ * so a stalled server is charged for every request it delayed (coordinated-omission correction).
+ * Service time is measured from the moment the request was actually sent and is kept only for
+ * comparison: the gap between the two shows queueing the server pushed back onto the client.
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long intendedStartNanos, long sentNanos, long doneNanos, boolean success) {
+        responseTime.recordValue(toMicros(doneNanos - intendedStartNanos));
+        serviceTime.recordValue(toMicros(doneNanos - sentNanos));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void addTo(OperationStats total) {
+        total.responseTime.add(responseTime);
+        total.serviceTime.add(serviceTime);
+        total.errors.add(errors.sum());
+    }
+
+    LatencySummary summarize(double measuredSeconds) {
+        long count = responseTime.getTotalCount();
+        return new LatencySummary(
+                count,
+                errors.sum(),
+                count / measuredSeconds,
+                millis(responseTime, 50),
+                millis(responseTime, 95),
+                millis(responseTime, 99),
+                millis(responseTime, 99.9),
+                responseTime.getMaxValue() / 1000.0,
+                millis(serviceTime, 99));
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Latencies in milliseconds; percentiles are coordinated-omission corrected response times.
+     */
+    record LatencySummary(
+            long count,
+            long errors,
+            double throughput,
+            double p50,
+            double p95,
+            double p99,
+            double p999,
+            double max,
+            double serviceTimeP99
+    ) {
+    }
+}
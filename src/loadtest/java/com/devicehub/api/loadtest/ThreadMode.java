@@ -0,0 +1,23 @@
+package com.devicehub.api.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Request thread model of the application under test ({@code spring.threads.virtual.enabled}).
+ */
+enum ThreadMode {
+    VIRTUAL,
+    PLATFORM;
+
+    boolean virtualThreadsEnabled() {
+        return this == VIRTUAL;
+    }
+
+    static ThreadMode fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
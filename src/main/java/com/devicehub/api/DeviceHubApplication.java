@@ -3,9 +3,11 @@
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.core.SpringVersion;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @Slf4j
 public class DeviceHubApplication {
 
@@ -0,0 +1,99 @@
+package com.devicehub.api.cache;
+
+import com.devicehub.api.config.CacheProperties;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link DeviceResponse} keyed by device id.
+ * Entries expire after {@code devicehub.cache.ttl} and are evicted beyond
+ * {@code devicehub.cache.maximum-size}; every committed change invalidates its entry.
+ *
+ * <p>A load that raced with a write must not re-populate the cache with the value it read
+ * before the write committed. Each invalidation bumps a generation counter for the id's
+ * stripe, and a loaded value is only stored if the generation is unchanged since the load
+ * started. Concurrent misses for the same id share one load through a {@link SingleFlight}
+ * named {@code device}; an invalidation detaches the load in flight before bumping the
+ * generation, so a reader arriving after a commit never receives a value read before it.
+ * Hit, miss and eviction counters are published as {@code cache.*} metrics tagged
+ * {@code cache=devices}.
+ */
+@Component
+@Slf4j
+public class DeviceCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, DeviceResponse> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final SingleFlight<Long, DeviceResponse> loads;
+
+    public DeviceCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maximumSize())
+                .expireAfterWrite(cacheProperties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "devices");
+        this.loads = new SingleFlight<>("device", meterRegistry);
+    }
+
+    /**
+     * Return the cached device or load it, joining a load of the same id already in flight.
+     * Exceptions thrown by the loader propagate to every caller sharing the load and nothing is cached.
+     *
+     * @param id the device id
+     * @param loader loads the device from the database on a miss
+     * @return the device
+     */
+    public DeviceResponse get(Long id, Function<Long, DeviceResponse> loader) {
+        DeviceResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        DeviceResponse loaded = loads.execute(id, () -> loader.apply(id));
+
+        // Atomic with invalidate(): either we see the bumped generation, or the
+        // invalidation runs after our put and removes the entry
+        cache.asMap().compute(id, (key, current) ->
+                generations.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Drop the cached device and reject any load that started before this call.
+     *
+     * @param id the device id
+     */
+    public void invalidate(Long id) {
+        loads.forget(id);
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalidate entries once the change is visible to new readers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        log.debug("Invalidating cached device: id={}, change={}", event.deviceId(), event.type());
+        invalidate(event.deviceId());
+    }
+
+    private static int stripe(Long id) {
+        return (Long.hashCode(id) & Integer.MAX_VALUE) % STRIPES;
+    }
+}
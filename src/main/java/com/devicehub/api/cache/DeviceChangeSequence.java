@@ -0,0 +1,82 @@
+package com.devicehub.api.cache;
+
+import com.devicehub.api.config.ReplicaProperties;
+import com.devicehub.api.event.DeviceChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic counter of committed device changes, used as a table-level validator
+ * for list responses: while the token is unchanged, no query can return different data.
+ *
+ * <p>The token is prefixed with the startup time so values handed out before a restart
+ * never match again. It is local to this instance; clients routed to another instance
+ * simply get a full response.
+ *
+ * <p>When lists are read from a replica, the token only advances once a change is older than
+ * the replica's maximum lag, so a response is never tagged with a change the replica may not
+ * have applied yet.
+ */
+@Component
+@Slf4j
+public class DeviceChangeSequence {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final long lagNanos;
+
+    // Guarded by itself; changes not yet older than the lag, oldest first
+    private final ArrayDeque<Change> recent = new ArrayDeque<>();
+    private long settled;
+
+    public DeviceChangeSequence(ReplicaProperties replicaProperties) {
+        this.lagNanos = replicaProperties.enabled() ? replicaProperties.maxLag().toNanos() : 0;
+    }
+
+    /**
+     * The current change token.
+     * Read it before running a query: a change committing during the query then leaves the
+     * response tagged with an older token, which only costs the next poll a full response.
+     *
+     * @return opaque token that changes whenever a device change commits
+     */
+    public String token() {
+        return epoch + "-" + (lagNanos == 0 ? sequence.get() : settled(System.nanoTime()));
+    }
+
+    /**
+     * Advance the sequence once the change is visible to new readers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        long value = sequence.incrementAndGet();
+        if (lagNanos != 0) {
+            long now = System.nanoTime();
+            synchronized (recent) {
+                recent.addLast(new Change(value, now));
+            }
+            settled(now);
+        }
+        log.debug("Device change sequence advanced: sequence={}, id={}, change={}",
+                value, event.deviceId(), event.type());
+    }
+
+    /**
+     * Highest sequence whose change is older than the lag. A change recorded later than a
+     * higher sequence committed before it, so settling in recording order is safe.
+     */
+    private long settled(long now) {
+        synchronized (recent) {
+            while (!recent.isEmpty() && now - recent.peekFirst().recordedAt() >= lagNanos) {
+                settled = Math.max(settled, recent.removeFirst().sequence());
+            }
+            return settled;
+        }
+    }
+
+    private record Change(long sequence, long recordedAt) {}
+}
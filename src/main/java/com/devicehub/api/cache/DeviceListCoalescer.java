@@ -0,0 +1,66 @@
+package com.devicehub.api.cache;
+
+import com.devicehub.api.config.ReadRouting;
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DevicePage;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.event.DeviceChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight groups for device list queries: concurrent identical queries share one
+ * database call. Callers must not hold a transaction, or each waiter would keep a connection.
+ * A caller whose reads are pinned to the primary (see {@link ReadRouting}) only shares a query
+ * with other pinned callers, never with one that may be served by the replica.
+ *
+ * <p>Every committed change detaches the queries in flight, so a caller arriving after a change
+ * never joins a query that may have started before it.
+ */
+@Component
+public class DeviceListCoalescer {
+
+    private final SingleFlight<ListQuery, DevicePage> pages;
+    private final SingleFlight<ListQuery, List<DeviceResponse>> brands;
+    private final SingleFlight<ListQuery, List<DeviceResponse>> states;
+
+    public DeviceListCoalescer(MeterRegistry meterRegistry) {
+        this.pages = new SingleFlight<>("page", meterRegistry);
+        this.brands = new SingleFlight<>("brand", meterRegistry);
+        this.states = new SingleFlight<>("state", meterRegistry);
+    }
+
+    public DevicePage page(DeviceFilter filter, long afterId, int limit, Supplier<DevicePage> query) {
+        return pages.execute(ListQuery.of(new PageCriteria(filter, afterId, limit)), query);
+    }
+
+    public List<DeviceResponse> byBrand(String brand, Supplier<List<DeviceResponse>> query) {
+        return brands.execute(ListQuery.of(Device.normalizeBrand(brand)), query);
+    }
+
+    public List<DeviceResponse> byState(DeviceState state, Supplier<List<DeviceResponse>> query) {
+        return states.execute(ListQuery.of(state), query);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        pages.forgetAll();
+        brands.forgetAll();
+        states.forgetAll();
+    }
+
+    private record PageCriteria(DeviceFilter filter, long afterId, int limit) {}
+
+    private record ListQuery(Object criteria, boolean primary) {
+
+        static ListQuery of(Object criteria) {
+            return new ListQuery(criteria, ReadRouting.isPrimaryRequired());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.devicehub.api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution whose result, or exception,
+ * is handed to every caller. Waiters park on a future, so a slow call holds no lock and pins
+ * no carrier thread.
+ *
+ * <p>Nothing is kept once a call completes. {@link #forget} detaches an in-flight call so that
+ * later callers start a fresh one; callers that already joined still receive its result.
+ *
+ * <p>Metrics, tagged {@code flight} with the name given at construction:
+ * {@code devicehub.singleflight.calls} by {@code outcome} ({@code executed} or {@code coalesced}),
+ * and {@code devicehub.singleflight.fanout}, the callers served by each execution.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String CALLS = "devicehub.singleflight.calls";
+    public static final String FANOUT = "devicehub.singleflight.fanout";
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final DistributionSummary fanout;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = calls(meterRegistry, name, "executed");
+        this.coalesced = calls(meterRegistry, name, "coalesced");
+        this.fanout = DistributionSummary.builder(FANOUT)
+                .description("Callers served by one coalesced execution")
+                .tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the call, or wait for the identical call already in flight.
+     *
+     * @param key identifies identical calls
+     * @param call the call to run if none is in flight
+     * @return the call's result
+     */
+    public V execute(K key, Supplier<V> call) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.incrementAndGet();
+            coalesced.increment();
+            return await(existing.result);
+        }
+
+        executed.increment();
+        try {
+            V value = call.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+            fanout.record(flight.callers.get());
+        }
+    }
+
+    /**
+     * Detach the call in flight for a key, if any.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Detach every call in flight.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(CALLS)
+                .description("Calls through a single-flight group, executed or coalesced into one in flight")
+                .tag("flight", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for bulk device operations.
+ *
+ * @param chunkSize number of devices persisted per transaction
+ * @param maxItems maximum number of devices accepted in a single bulk request
+ */
+@ConfigurationProperties(prefix = "devicehub.batch")
+public record BatchProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("10000") int maxItems
+) {}
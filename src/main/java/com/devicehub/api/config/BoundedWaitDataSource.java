@@ -0,0 +1,64 @@
+package com.devicehub.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of threads waiting on the connection pool.
+ * With virtual threads every request can block on the pool, and the pool's own queue is
+ * unbounded; past {@code maxWaiters} a request is rejected at once, which surfaces as 503
+ * instead of a long wait that ends in a timeout anyway.
+ */
+public class BoundedWaitDataSource extends DelegatingDataSource {
+
+    public static final String REJECTED = "devicehub.datasource.wait.rejected";
+
+    private final Semaphore waiters;
+    private final int maxWaiters;
+    private final Counter rejected;
+
+    public BoundedWaitDataSource(DataSource pool, String poolName, int maxWaiters, MeterRegistry meterRegistry) {
+        super(pool);
+        this.waiters = new Semaphore(maxWaiters);
+        this.maxWaiters = maxWaiters;
+        this.rejected = Counter.builder(REJECTED)
+                .description("Connection requests rejected because too many threads were already waiting")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        enter();
+        try {
+            return super.getConnection();
+        } finally {
+            waiters.release();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        enter();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            waiters.release();
+        }
+    }
+
+    private void enter() throws SQLException {
+        if (!waiters.tryAcquire()) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Connection pool wait queue is full (" + maxWaiters + " waiting)");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-process device cache.
+ *
+ * @param maximumSize maximum number of cached devices before size-based eviction
+ * @param ttl time after which a cached device expires, regardless of access
+ */
+@ConfigurationProperties(prefix = "devicehub.cache")
+public record CacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl
+) {}
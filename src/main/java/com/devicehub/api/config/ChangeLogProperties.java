@@ -0,0 +1,20 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the device change log ({@code GET /api/devices/changes}).
+ *
+ * @param retention age after which entries are deleted; consumers must poll more often than this
+ * @param compactAfter age after which entries superseded by a later change of the same device are deleted
+ * @param purgeInterval delay between retention and compaction runs, in ISO-8601 form (read by {@code @Scheduled})
+ */
+@ConfigurationProperties(prefix = "devicehub.changes")
+public record ChangeLogProperties(
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("1h") Duration compactAfter,
+        @DefaultValue("PT10M") Duration purgeInterval
+) {}
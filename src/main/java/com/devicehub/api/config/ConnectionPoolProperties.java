@@ -0,0 +1,15 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits on top of the HikariCP settings in {@code spring.datasource.hikari.*}.
+ *
+ * @param maxWaiters maximum number of threads asking the pool for a connection at once;
+ *                   further requests fail immediately instead of queueing behind them
+ */
+@ConfigurationProperties(prefix = "devicehub.datasource")
+public record ConnectionPoolProperties(
+        @DefaultValue("200") int maxWaiters
+) {}
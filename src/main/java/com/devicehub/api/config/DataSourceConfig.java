@@ -0,0 +1,105 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.metrics.QueryStatistics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource configuration.
+ * Every Hikari pool is wrapped in a {@link BoundedWaitDataSource} and, unless
+ * {@code devicehub.queries.enabled} is off, a {@link QueryTimingDataSource}; pool metrics
+ * ({@code hikaricp.*}) are still bound to the pool underneath.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor boundedWaitDataSourcePostProcessor(ObjectProvider<ConnectionPoolProperties> properties,
+                                                                ObjectProvider<QueryStatisticsProperties> queryProperties,
+                                                                ObjectProvider<QueryStatistics> queryStatistics,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    DataSource bounded = new BoundedWaitDataSource(pool, pool.getPoolName(),
+                            properties.getObject().maxWaiters(), meterRegistry.getObject());
+                    return queryProperties.getObject().enabled()
+                            ? new QueryTimingDataSource(bounded, queryStatistics.getObject())
+                            : bounded;
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Primary and replica pools behind a read/write router, replacing the auto-configured pool
+     * when {@code devicehub.datasource.replica.url} is set.
+     * The primary pool is still configured through {@code spring.datasource.*}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "devicehub.datasource.replica", name = "url")
+    static class ReadReplicaConfiguration {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        @ConfigurationProperties("devicehub.datasource.replica.hikari")
+        HikariDataSource replicaDataSource(ReplicaProperties replica, ObjectProvider<FlywayProperties> flyway) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            pool.setPoolName("devicehub-replica");
+            pool.setReadOnly(!replica.migrate());
+            if (replica.migrate()) {
+                FlywayProperties flywayProperties = flyway.getIfAvailable(FlywayProperties::new);
+                Flyway.configure()
+                        .dataSource(replica.url(), replica.username(), replica.password())
+                        .locations(flywayProperties.getLocations().toArray(String[]::new))
+                        .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                        .baselineVersion(flywayProperties.getBaselineVersion())
+                        .load()
+                        .migrate();
+            }
+            return pool;
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                              @Qualifier("replicaDataSource") DataSource replica,
+                              MeterRegistry meterRegistry) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, meterRegistry);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        @Bean
+        ReadYourWritesFilter readYourWritesFilter(ReplicaProperties replica) {
+            return new ReadYourWritesFilter(replica.maxLag());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the device change feed ({@code GET /api/devices/events}).
+ *
+ * @param retained number of recent events kept in memory for {@code Last-Event-ID} resume
+ * @param subscriberBuffer events queued per subscriber before it is dropped as too slow
+ * @param maxSubscribers maximum number of concurrently connected subscribers
+ * @param heartbeat idle interval after which a comment is sent to keep the connection open
+ * @param timeout lifetime of one stream; clients reconnect and resume afterwards
+ */
+@ConfigurationProperties(prefix = "devicehub.events")
+public record EventStreamProperties(
+        @DefaultValue("1000") int retained,
+        @DefaultValue("256") int subscriberBuffer,
+        @DefaultValue("10000") int maxSubscribers,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration timeout
+) {}
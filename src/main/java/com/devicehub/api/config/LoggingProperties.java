@@ -0,0 +1,17 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for application logging on the request path.
+ *
+ * @param notFoundSampleInterval at most one 404 is logged per interval; the others are counted
+ *                               and reported with the next logged one
+ */
+@ConfigurationProperties(prefix = "devicehub.logging")
+public record LoggingProperties(
+        @DefaultValue("1s") Duration notFoundSampleInterval
+) {}
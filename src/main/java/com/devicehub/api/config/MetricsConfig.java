@@ -0,0 +1,32 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.logging.DroppingAsyncAppender;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration.
+ * Enables {@link io.micrometer.core.annotation.Timed} on Spring beans, which records
+ * a timer per method tagged with {@code class}, {@code method} and {@code exception}.
+ * Also publishes the number of log events dropped by {@link DroppingAsyncAppender}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder droppedLogEventsMetric() {
+        return registry -> FunctionCounter.builder(DroppingAsyncAppender.DROPPED, DroppingAsyncAppender.class,
+                        appender -> DroppingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the asynchronous logging queue was full")
+                .register(registry);
+    }
+}
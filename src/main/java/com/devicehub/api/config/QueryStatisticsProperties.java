@@ -0,0 +1,20 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for per-statement query statistics and slow query logging.
+ *
+ * @param enabled time every JDBC statement; when off, connections are handed out unwrapped
+ * @param slowThreshold statements taking at least this long are logged with their SQL, bind count and row count
+ * @param maxTracked distinct statements with their own statistics; further ones are counted together
+ */
+@ConfigurationProperties(prefix = "devicehub.queries")
+public record QueryStatisticsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration slowThreshold,
+        @DefaultValue("500") int maxTracked
+) {}
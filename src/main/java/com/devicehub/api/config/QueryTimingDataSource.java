@@ -0,0 +1,270 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.metrics.QueryStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed on the pool's connections and records it in {@link QueryStatistics}.
+ * A query's time is what it spends in the driver: executing, plus fetching rows in
+ * {@link ResultSet#next()}, but not what the caller does between rows. It is recorded when the
+ * result set or statement is closed, with the number of rows fetched. This includes queries run
+ * through {@code execute}, whose result set is taken with {@code getResultSet}. Updates and
+ * batches are recorded as soon as they return, with the number of rows changed.
+ */
+public class QueryTimingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = QueryTimingDataSource.class.getClassLoader();
+
+    private final QueryStatistics statistics;
+
+    public QueryTimingDataSource(DataSource dataSource, QueryStatistics statistics) {
+        super(dataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(proxy, connection, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement and prepareCall take the SQL up front, createStatement with each execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Follows one statement through its executions; a statement is only used by one thread at a time.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private int binds;
+        private int batchBinds;
+        private ResultSetHandler open;
+        private Object openProxy;
+        // A query run through execute(), waiting for getResultSet(); null otherwise
+        private String executedSql;
+        private long executedNanos;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds = Math.max(binds, index);
+                return QueryTimingDataSource.invoke(statement, method, args);
+            }
+            return switch (name) {
+                case "executeQuery" -> executeQuery(method, args);
+                case "executeUpdate", "executeLargeUpdate" -> executeUpdate(method, args);
+                case "execute" -> execute(method, args);
+                case "getResultSet" -> getResultSet(method, args);
+                case "executeBatch", "executeLargeBatch" -> executeBatch(method, args);
+                case "addBatch" -> {
+                    batchBinds += binds;
+                    yield QueryTimingDataSource.invoke(statement, method, args);
+                }
+                case "clearBatch" -> {
+                    batchBinds = 0;
+                    yield QueryTimingDataSource.invoke(statement, method, args);
+                }
+                case "close" -> {
+                    finishOpen();
+                    yield QueryTimingDataSource.invoke(statement, method, args);
+                }
+                default -> QueryTimingDataSource.invoke(proxy, statement, method, args);
+            };
+        }
+
+        private Object executeQuery(Method method, Object[] args) throws Throwable {
+            finishOpen();
+            long start = System.nanoTime();
+            ResultSet resultSet = (ResultSet) QueryTimingDataSource.invoke(statement, method, args);
+            return track(resultSet, sql(args), System.nanoTime() - start);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishOpen();
+            long start = System.nanoTime();
+            Object result = QueryTimingDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            if (Boolean.TRUE.equals(result)) {
+                // A query: recorded once its result set is finished
+                executedSql = sql(args);
+                executedNanos = nanos;
+            } else {
+                statistics.record(sql(args), binds, Math.max(statement.getLargeUpdateCount(), 0), nanos);
+            }
+            return result;
+        }
+
+        private Object getResultSet(Method method, Object[] args) throws Throwable {
+            ResultSet resultSet = (ResultSet) QueryTimingDataSource.invoke(statement, method, args);
+            if (executedSql != null) {
+                String sql = executedSql;
+                executedSql = null;
+                if (resultSet == null) {
+                    statistics.record(sql, binds, 0, executedNanos);
+                    return null;
+                }
+                return track(resultSet, sql, executedNanos);
+            }
+            // Asked again for the result set it already handed out
+            return open != null && open.resultSet == resultSet ? openProxy : resultSet;
+        }
+
+        private Object track(ResultSet resultSet, String sql, long executeNanos) {
+            open = new ResultSetHandler(resultSet, sql, binds, executeNanos);
+            openProxy = proxy(ResultSet.class, open);
+            return openProxy;
+        }
+
+        private Object executeUpdate(Method method, Object[] args) throws Throwable {
+            finishOpen();
+            long start = System.nanoTime();
+            Object result = QueryTimingDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            long rows = result instanceof Number count ? count.longValue() : 0;
+            statistics.record(sql(args), binds, rows, nanos);
+            return result;
+        }
+
+        private Object executeBatch(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            Object result = QueryTimingDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            long rows = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            statistics.record(sql(null), batchBinds, rows, nanos);
+            batchBinds = 0;
+            return result;
+        }
+
+        private String sql(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                return sql;
+            }
+            return preparedSql != null ? preparedSql : "(unknown)";
+        }
+
+        private void finishOpen() {
+            if (executedSql != null) {
+                // The result set of an execute() was never asked for
+                statistics.record(executedSql, binds, 0, executedNanos);
+                executedSql = null;
+            }
+            if (open != null) {
+                open.finish();
+                open = null;
+                openProxy = null;
+            }
+        }
+    }
+
+    /**
+     * Counts rows and the time spent fetching them, and records the query once closed.
+     */
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final String sql;
+        private final int binds;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet resultSet, String sql, int binds, long executeNanos) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.binds = binds;
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next" -> {
+                    long start = System.nanoTime();
+                    Object result = QueryTimingDataSource.invoke(resultSet, method, args);
+                    nanos += System.nanoTime() - start;
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                    return result;
+                }
+                case "close" -> {
+                    finish();
+                    return QueryTimingDataSource.invoke(resultSet, method, args);
+                }
+                default -> {
+                    return QueryTimingDataSource.invoke(proxy, resultSet, method, args);
+                }
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                statistics.record(sql, binds, rows, nanos);
+            }
+        }
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Invoke on the target, answering identity methods for the proxy itself.
+     */
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> invoke(target, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
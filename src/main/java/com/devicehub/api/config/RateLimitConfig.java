@@ -0,0 +1,35 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.ratelimit.AdmissionControlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Admission control for the device API ({@code /api/**}): per-client rate limits and a limit on
+ * concurrent requests, see {@link AdmissionControlInterceptor}. Actuator and API documentation
+ * endpoints are not limited.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "devicehub.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(RateLimitProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        return new AdmissionControlInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionControlConfigurer(AdmissionControlInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for admission control on {@code /api/**}: a token bucket per client and a limit
+ * on requests in progress across all clients.
+ *
+ * @param enabled apply rate limiting and the concurrency limit
+ * @param tokensPerSecond rate at which each client's bucket refills
+ * @param burst bucket size: tokens a client that has been idle can spend at once
+ * @param listCost tokens charged for listing or exporting devices
+ * @param readCost tokens charged for any other read
+ * @param writeCost tokens charged for a create, update, delete or bulk operation
+ * @param clientHeader request header identifying a client; clients without it are identified by address
+ * @param maxClients clients whose buckets are kept; the least recently seen are dropped beyond that
+ * @param maxConcurrent requests processed at once across all clients; further ones are rejected with 429
+ */
+@ConfigurationProperties(prefix = "devicehub.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") double tokensPerSecond,
+        @DefaultValue("200") int burst,
+        @DefaultValue("10") int listCost,
+        @DefaultValue("1") int readCost,
+        @DefaultValue("2") int writeCost,
+        @DefaultValue("X-API-Key") String clientHeader,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("100") int maxConcurrent
+) {}
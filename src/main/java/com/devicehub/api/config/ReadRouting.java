@@ -0,0 +1,49 @@
+package com.devicehub.api.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary instead of the replica.
+ * Connections are obtained lazily, so the override must be in place before the first statement
+ * of a transaction runs.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Run a read that must see every committed write, e.g. because its result is cached
+     * or compared with in-memory state.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Send the remaining reads of the current request to the primary; undone by {@link #reset()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    static void reset() {
+        PRIMARY.remove();
+    }
+}
@@ -0,0 +1,47 @@
+package com.devicehub.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens the connection before the read-only flag is bound to the thread,
+ * so the decision can only be made once the first statement runs.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String CONNECTIONS = "devicehub.datasource.connections";
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final Map<Target, Counter> routed;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.routed = Map.of(
+                Target.PRIMARY, counter(meterRegistry, "primary"),
+                Target.REPLICA, counter(meterRegistry, "replica"));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadRouting.isPrimaryRequired() ? Target.REPLICA : Target.PRIMARY;
+        routed.get(target).increment();
+        return target;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(CONNECTIONS)
+                .description("Connections obtained, by the database they were routed to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.event.DeviceChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for clients of a lagging replica.
+ *
+ * <p>When a request commits a device change, the response carries a cookie valid for the
+ * replica's maximum lag. Requests presenting the cookie, and the rest of the writing request
+ * itself, read from the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "devicehub-read-primary-until";
+
+    private static final String MARKED = ReadYourWritesFilter.class.getName() + ".MARKED";
+
+    private final Duration maxLag;
+
+    public ReadYourWritesFilter(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isSticky(request)) {
+            ReadRouting.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.reset();
+        }
+    }
+
+    /**
+     * Mark the writing request once its change is committed; changes made outside a request are ignored.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getAttribute(MARKED, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(MARKED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        ReadRouting.requirePrimary();
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + maxLag.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static boolean isSticky(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Optional read replica. Pool settings are bound from {@code devicehub.datasource.replica.hikari.*}.
+ *
+ * @param url JDBC URL of the replica; without it every connection goes to the primary
+ * @param username replica user
+ * @param password replica password
+ * @param maxLag how far the replica may trail the primary; a client's reads stay on the primary
+ *               this long after its last write
+ * @param migrate apply the Flyway migrations to the replica at startup, for a standalone
+ *                replica database in local testing
+ */
+@ConfigurationProperties(prefix = "devicehub.datasource.replica")
+public record ReplicaProperties(
+        String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("false") boolean migrate
+) {
+
+    public boolean enabled() {
+        return url != null && !url.isBlank();
+    }
+}
@@ -0,0 +1,33 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.tracing.LayerTracingAspect;
+import com.devicehub.api.tracing.MdcTaskDecorator;
+import io.micrometer.tracing.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Tracing configuration.
+ * The HTTP server span, W3C {@code traceparent} propagation and OTLP export are auto-configured
+ * ({@code management.tracing.*}, {@code management.otlp.tracing.*}); this adds spans for the
+ * controller, service and repository layers and carries the request's MDC and span into
+ * executor tasks.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public LayerTracingAspect layerTracingAspect(Tracer tracer) {
+        return new LayerTracingAspect(tracer);
+    }
+
+    /**
+     * Applied by Spring Boot to the auto-configured task executors, including the one running
+     * asynchronous MVC work such as streamed responses.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+}
@@ -0,0 +1,39 @@
+package com.devicehub.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for write-behind batching of partial updates ({@code PATCH /api/devices/{id}}).
+ *
+ * @param enabled queue unconditional partial updates and commit them in batches instead of one transaction each
+ * @param maxBatch number of devices written per transaction; a full batch is flushed immediately
+ * @param flushInterval longest time an update waits in the queue before its batch is flushed
+ * @param capacity maximum number of devices with queued updates; further devices are rejected with 429
+ * @param durability when a queued update is acknowledged to the client
+ */
+@ConfigurationProperties(prefix = "devicehub.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("500") int maxBatch,
+        @DefaultValue("20ms") Duration flushInterval,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("commit") Durability durability
+) {
+
+    /**
+     * When a queued update is acknowledged.
+     */
+    public enum Durability {
+        /**
+         * After the batch containing the update has committed; the response carries the updated device.
+         */
+        COMMIT,
+        /**
+         * As soon as the update is validated and queued, with 202 Accepted; queued updates are lost on a crash.
+         */
+        QUEUED
+    }
+}
@@ -1,10 +1,30 @@
 package com.devicehub.api.controller;
 
+import com.devicehub.api.cache.DeviceChangeSequence;
 import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceBatchResponse;
+import com.devicehub.api.dto.DeviceBulkDeleteRequest;
+import com.devicehub.api.dto.DeviceBulkResponse;
+import com.devicehub.api.dto.DeviceChangeFeed;
 import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DevicePage;
 import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStateChangeRequest;
+import com.devicehub.api.dto.DeviceStats;
 import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceEventBroadcaster;
+import com.devicehub.api.service.DeviceBulkService;
+import com.devicehub.api.service.DeviceChangeLog;
+import com.devicehub.api.service.DeviceExportService;
 import com.devicehub.api.service.DeviceService;
+import com.devicehub.api.service.DeviceStatistics;
+import com.devicehub.api.service.DeviceWriteBehind;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +34,26 @@
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -33,7 +67,17 @@
 @Tag(name = "Device Management", description = "Endpoints for managing device resources")
 public class DeviceController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final DeviceService deviceService;
+    private final DeviceExportService deviceExportService;
+    private final DeviceBulkService deviceBulkService;
+    private final ObjectMapper objectMapper;
+    private final DeviceChangeSequence changeSequence;
+    private final DeviceEventBroadcaster eventBroadcaster;
+    private final DeviceChangeLog deviceChangeLog;
+    private final DeviceStatistics deviceStatistics;
+    private final DeviceWriteBehind deviceWriteBehind;
 
     /**
      * Create a new device.
@@ -59,9 +103,6 @@ public class DeviceController {
     )
     public ResponseEntity<DeviceResponse> createDevice(
             @Valid @RequestBody DeviceCreateRequest request) {
-        log.info("POST /api/devices - Creating device: name={}, brand={}",
-                request.name(), request.brand());
-
         DeviceResponse response = deviceService.create(request);
 
         URI location = ServletUriComponentsBuilder
@@ -70,14 +111,129 @@ public ResponseEntity<DeviceResponse> createDevice(
                 .buildAndExpand(response.id())
                 .toUri();
 
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location)
+                .eTag(DeviceETags.of(response))
+                .body(response);
+    }
+
+    /**
+     * Create many devices from a JSON array.
+     *
+     * @param requests the device creation requests
+     * @return per-item results with 200 status
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create devices in bulk",
+            description = "Validates each item individually and persists valid items in chunked, "
+                    + "JDBC-batched transactions. Also accepts application/x-ndjson.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch processed; see per-item results",
+                            content = @Content(schema = @Schema(implementation = DeviceBatchResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Too many items in one batch"
+                    )
+            }
+    )
+    public ResponseEntity<DeviceBatchResponse> createDevices(
+            @RequestBody List<DeviceCreateRequest> requests) {
+        return ResponseEntity.ok(deviceBulkService.createAll(requests.iterator()));
+    }
+
+    /**
+     * Create many devices from newline-delimited JSON, one request per line.
+     * Lines that cannot be parsed are reported as invalid items.
+     *
+     * @param body the NDJSON request body
+     * @return per-item results with 200 status
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(hidden = true)
+    public ResponseEntity<DeviceBatchResponse> createDevicesFromNdjson(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Iterator<DeviceCreateRequest> requests = reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::readCreateRequest)
+                    .iterator();
+            return ResponseEntity.ok(deviceBulkService.createAll(requests));
+        }
+    }
+
+    /**
+     * Move many devices to the same state in one call.
+     *
+     * @param request the device ids and the target state
+     * @return per-id outcomes with 200 status
+     */
+    @PostMapping("/batch/state")
+    @Operation(
+            summary = "Change device states in bulk",
+            description = "Applies the update rules to every id and changes all eligible devices with "
+                    + "set-based UPDATE statements in a single transaction.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Request processed; see per-id outcomes",
+                            content = @Content(schema = @Schema(implementation = DeviceBulkResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request data"
+                    ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Too many ids in one request"
+                    )
+            }
+    )
+    public ResponseEntity<DeviceBulkResponse> changeDeviceStates(
+            @Valid @RequestBody DeviceStateChangeRequest request) {
+        return ResponseEntity.ok(deviceBulkService.changeStates(request));
+    }
+
+    /**
+     * Delete many devices in one call.
+     *
+     * @param request the device ids
+     * @return per-id outcomes with 200 status
+     */
+    @PostMapping("/batch/delete")
+    @Operation(
+            summary = "Delete devices in bulk",
+            description = "Checks every id against the delete rules with one locking query per chunk and "
+                    + "removes all eligible devices with set-based DELETE statements in a single transaction. "
+                    + "IN_USE devices are reported as RULE_VIOLATION and kept.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Request processed; see per-id outcomes",
+                            content = @Content(schema = @Schema(implementation = DeviceBulkResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request data"
+                    ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Too many ids in one request"
+                    )
+            }
+    )
+    public ResponseEntity<DeviceBulkResponse> deleteDevices(@Valid @RequestBody DeviceBulkDeleteRequest request) {
+        return ResponseEntity.ok(deviceBulkService.deleteAll(request));
     }
 
     /**
      * Get a device by ID.
+     * The response carries the device version as ETag; a matching {@code If-None-Match}
+     * yields 304 Not Modified without a body.
      *
      * @param id the device ID
-     * @return the device with 200 status
+     * @return the device with 200 status, or 304 if unchanged
      */
     @GetMapping("/{id}")
     @Operation(
@@ -89,6 +245,10 @@ public ResponseEntity<DeviceResponse> createDevice(
                             description = "Device found",
                             content = @Content(schema = @Schema(implementation = DeviceResponse.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Device unchanged since the ETag in If-None-Match"
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Device not found"
@@ -98,27 +258,49 @@ public ResponseEntity<DeviceResponse> createDevice(
     public ResponseEntity<DeviceResponse> getDevice(
             @Parameter(description = "Device ID", required = true)
             @PathVariable Long id) {
-        log.info("GET /api/devices/{} - Fetching device", id);
-
         DeviceResponse response = deviceService.findById(id);
-        return ResponseEntity.ok(response);
+        // Spring answers 304 when If-None-Match matches this ETag
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.of(response))
+                .body(response);
     }
 
     /**
-     * Get all devices or filter by brand/state.
+     * List devices one page at a time, optionally filtered.
+     * All given filters are combined and evaluated by the database.
+     * The next page is advertised through the {@code Link} (rel="next") and
+     * {@code X-Next-Cursor} headers; both are absent on the last page.
+     * Responses carry a weak ETag derived from the device change sequence; a matching
+     * {@code If-None-Match} is answered with 304 without querying the database.
      *
      * @param brand optional brand filter
      * @param state optional state filter
-     * @return list of devices with 200 status
+     * @param namePrefix optional name prefix filter
+     * @param createdFrom optional inclusive lower bound of the creation time
+     * @param createdTo optional exclusive upper bound of the creation time
+     * @param limit maximum number of devices to return
+     * @param after opaque cursor from a previous page
+     * @param webRequest the current request, for the conditional-GET check
+     * @return list of devices with 200 status, or 304 if nothing changed
      */
     @GetMapping
     @Operation(
-            summary = "List all devices",
-            description = "Retrieves all devices, optionally filtered by brand or state",
+            summary = "List devices",
+            description = "Retrieves devices in id order using cursor pagination, optionally filtered by brand, state, name prefix and creation time. "
+                    + "All given filters must match. "
+                    + "Follow the Link rel=\"next\" header (or pass X-Next-Cursor as 'after') to fetch the next page.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Devices retrieved successfully"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No device changed since the ETag in If-None-Match"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid pagination cursor or filter value"
                     )
             }
     )
@@ -126,20 +308,165 @@ public ResponseEntity<List<DeviceResponse>> listDevices(
             @Parameter(description = "Filter by brand (case-insensitive)")
             @RequestParam(required = false) String brand,
             @Parameter(description = "Filter by state")
-            @RequestParam(required = false) DeviceState state) {
-        log.info("GET /api/devices - Listing devices: brand={}, state={}", brand, state);
+            @RequestParam(required = false) DeviceState state,
+            @Parameter(description = "Filter by name prefix (case-sensitive)")
+            @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Only devices created at or after this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Only devices created before this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "Maximum number of devices per page (capped at 1000)")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        DeviceFilter filter = new DeviceFilter(brand, state, namePrefix, createdFrom, createdTo);
+
+        // Taken before the query so the tag is never newer than the data it labels
+        String etag = DeviceETags.ofList(changeSequence.token());
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Device list not modified: etag={}", etag);
+            return null;
+        }
 
-        List<DeviceResponse> devices;
+        DevicePage page = deviceService.findPage(filter, after, limit);
 
-        if (brand != null) {
-            devices = deviceService.findByBrand(brand);
-        } else if (state != null) {
-            devices = deviceService.findByState(state);
-        } else {
-            devices = deviceService.findAll();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.hasNext()) {
+            URI next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("limit", page.items().size())
+                    .replaceQueryParam("after", page.nextCursor())
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .header(NEXT_CURSOR_HEADER, page.nextCursor());
         }
 
-        return ResponseEntity.ok(devices);
+        return response.body(page.items());
+    }
+
+    /**
+     * Device counts by state and by brand.
+     * Served from in-memory counters, so the cost does not grow with the number of devices.
+     *
+     * @return the counts with 200 status
+     */
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Device statistics",
+            description = "Returns device counts by state and by brand. Counts reflect committed changes "
+                    + "and are reconciled with the database periodically.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statistics retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = DeviceStats.class))
+                    )
+            }
+    )
+    public ResponseEntity<DeviceStats> getStats() {
+        return ResponseEntity.ok(deviceStatistics.snapshot());
+    }
+
+    /**
+     * Read the device change log for incremental synchronization.
+     * Consumers apply the returned changes in order and pass {@code next} as {@code since}
+     * on their following request.
+     *
+     * @param since the last sequence already applied, 0 to start from the oldest retained change
+     * @param limit maximum number of changes to return
+     * @return the changes with 200 status
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Read device changes",
+            description = "Returns committed creations, updates and deletions after the given sequence, in order. "
+                    + "Pass 'next' from the response as 'since' to continue; 'hasMore' means another page is ready.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Changes retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = DeviceChangeFeed.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Changes after 'since' were deleted by retention; re-read all devices"
+                    )
+            }
+    )
+    public ResponseEntity<DeviceChangeFeed> listChanges(
+            @Parameter(description = "Last sequence already applied")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes (capped at 1000)")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deviceChangeLog.read(since, limit));
+    }
+
+    /**
+     * Stream committed device changes as Server-Sent Events.
+     * Each event is named after the change ({@code created}, {@code updated}, {@code deleted}) and
+     * carries the device before and after it. A client reconnecting with {@code Last-Event-ID}
+     * first receives the changes it missed, or a {@code resync} event if they are no longer retained.
+     *
+     * @param lastEventId id of the last event received before a reconnect
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream device changes",
+            description = "Server-Sent Events feed of device creations, updates and deletions after they commit. "
+                    + "Send Last-Event-ID on reconnect to resume; a 'resync' event means missed changes were discarded.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Event stream opened"
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Subscriber limit reached"
+                    )
+            }
+    )
+    public SseEmitter streamEvents(
+            @Parameter(description = "Id of the last event received, to resume after a reconnect")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return eventBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * Export all devices as newline-delimited JSON (one device per line).
+     * The body is streamed from a database cursor, so memory usage and
+     * time to first byte do not depend on the number of devices.
+     *
+     * @return the streaming NDJSON body with 200 status
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all devices",
+            description = "Streams the full device inventory in id order as application/x-ndjson",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Export streamed successfully"
+                    )
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportDevices() {
+        ObjectWriter writer = objectMapper.writerFor(DeviceResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                deviceExportService.exportAll(device -> writeLine(writer, generator, device));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -147,7 +474,8 @@ public ResponseEntity<List<DeviceResponse>> listDevices(
      *
      * @param id the device ID
      * @param request the update request with all fields
-     * @return the updated device with 200 status
+     * @param ifMatch optional ETag(s) the device must currently have
+     * @return the updated device with 200 status and its new ETag
      */
     @PutMapping("/{id}")
     @Operation(
@@ -165,26 +493,35 @@ public ResponseEntity<List<DeviceResponse>> listDevices(
                     ),
                     @ApiResponse(
                             responseCode = "409",
-                            description = "Business rule violation (e.g., updating IN_USE device)"
+                            description = "Business rule violation (e.g., updating IN_USE device) or concurrent modification"
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current version"
                     )
             }
     )
     public ResponseEntity<DeviceResponse> updateDevice(
             @Parameter(description = "Device ID", required = true)
             @PathVariable Long id,
-            @Valid @RequestBody DeviceUpdateRequest request) {
-        log.info("PUT /api/devices/{} - Updating device", id);
-
-        DeviceResponse response = deviceService.update(id, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody DeviceUpdateRequest request,
+            @Parameter(description = "ETag of the version being replaced")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DeviceResponse response = deviceService.update(id, request, DeviceETags.expectedVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.of(response))
+                .body(response);
     }
 
     /**
      * Partial update of a device (PATCH).
+     * With write-behind enabled, unconditional updates are queued and committed in batches;
+     * they are answered with 202 Accepted and no body when acknowledged on queueing.
      *
      * @param id the device ID
      * @param request the update request with optional fields
-     * @return the updated device with 200 status
+     * @param ifMatch optional ETag(s) the device must currently have
+     * @return the updated device with 200 status and its new ETag, or 202 if the update was queued
      */
     @PatchMapping("/{id}")
     @Operation(
@@ -196,30 +533,54 @@ public ResponseEntity<DeviceResponse> updateDevice(
                             description = "Device updated successfully",
                             content = @Content(schema = @Schema(implementation = DeviceResponse.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Update queued for a batched write (write-behind with durability=queued)"
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Device not found"
                     ),
                     @ApiResponse(
                             responseCode = "409",
-                            description = "Business rule violation"
+                            description = "Business rule violation or concurrent modification"
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current version"
+                    ),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Write-behind queue is full"
                     )
             }
     )
     public ResponseEntity<DeviceResponse> partialUpdateDevice(
             @Parameter(description = "Device ID", required = true)
             @PathVariable Long id,
-            @RequestBody DeviceUpdateRequest request) {
-        log.info("PATCH /api/devices/{} - Partially updating device", id);
+            @RequestBody DeviceUpdateRequest request,
+            @Parameter(description = "ETag of the version being modified")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Conditional updates need the version check of a dedicated transaction
+        if (ifMatch == null && deviceWriteBehind.isEnabled()) {
+            return deviceWriteBehind.submit(id, request)
+                    .map(response -> ResponseEntity.ok()
+                            .eTag(DeviceETags.of(response))
+                            .body(response))
+                    .orElseGet(() -> ResponseEntity.accepted().build());
+        }
 
-        DeviceResponse response = deviceService.partialUpdate(id, request);
-        return ResponseEntity.ok(response);
+        DeviceResponse response = deviceService.partialUpdate(id, request, DeviceETags.expectedVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.of(response))
+                .body(response);
     }
 
     /**
      * Delete a device by ID.
      *
      * @param id the device ID
+     * @param ifMatch optional ETag(s) the device must currently have
      * @return 204 No Content on successful deletion
      */
     @DeleteMapping("/{id}")
@@ -238,16 +599,38 @@ public ResponseEntity<DeviceResponse> partialUpdateDevice(
                     ),
                     @ApiResponse(
                             responseCode = "409",
-                            description = "Business rule violation (e.g., deleting IN_USE device)"
+                            description = "Business rule violation (e.g., deleting IN_USE device) or concurrent modification"
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current version"
                     )
             }
     )
     public ResponseEntity<Void> deleteDevice(
             @Parameter(description = "Device ID", required = true)
-            @PathVariable Long id) {
-        log.info("DELETE /api/devices/{} - Deleting device", id);
-
-        deviceService.delete(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the version being deleted")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        deviceService.delete(id, DeviceETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, DeviceResponse device) {
+        try {
+            writer.writeValue(generator, device);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DeviceCreateRequest readCreateRequest(String line) {
+        try {
+            return objectMapper.readValue(line, DeviceCreateRequest.class);
+        } catch (JsonProcessingException ex) {
+            log.debug("Skipping unreadable NDJSON line: {}", ex.getOriginalMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.devicehub.api.controller;
+
+import com.devicehub.api.dto.DeviceResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps device versions to strong ETags ({@code "3"}) and back,
+ * and change tokens to weak ETags for list responses.
+ */
+final class DeviceETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private DeviceETags() {
+    }
+
+    /**
+     * The ETag of a device representation.
+     */
+    static String of(DeviceResponse device) {
+        return "\"" + device.version() + "\"";
+    }
+
+    /**
+     * The weak ETag of a list response. Weak because the same token covers every
+     * representation of every query, not one byte sequence.
+     */
+    static String ofList(String changeToken) {
+        return WEAK_PREFIX + "\"" + changeToken + "\"";
+    }
+
+    /**
+     * Versions accepted by an {@code If-Match} header.
+     * Weak and foreign ETags can never match (If-Match uses strong comparison), so they are dropped;
+     * a header with only such values yields an empty list, which fails the precondition.
+     *
+     * @param ifMatch the header value, may be null
+     * @return null if the request is unconditional (no header or {@code *}), otherwise the accepted versions
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals(ANY)) {
+                return null;
+            }
+            if (value.startsWith(WEAK_PREFIX) || value.length() < 3
+                    || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+            } catch (NumberFormatException ex) {
+                // Not one of our ETags
+            }
+        }
+        return versions;
+    }
+}
@@ -3,23 +3,34 @@
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "devices")
+@Table(name = "devices", indexes = {
+        @Index(name = "idx_devices_brand_key", columnList = "brand_key, id"),
+        @Index(name = "idx_devices_state", columnList = "state, id"),
+        @Index(name = "idx_devices_brand_key_state", columnList = "brand_key, state, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Device {
 
+    /**
+     * Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one INSERT per row.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "devices_seq")
+    @SequenceGenerator(name = "devices_seq", sequenceName = "devices_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -30,18 +41,51 @@ public class Device {
     @Column(nullable = false)
     private String brand;
 
+    /**
+     * Lower-cased brand, kept in sync on every write so case-insensitive
+     * brand lookups can use an index.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "brand_key", nullable = false)
+    private String brandKey;
+
     @NotNull
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, length = 32)
     private DeviceState state;
 
     @Column(name = "creation_time", nullable = false, updatable = false)
     private LocalDateTime creationTime;
 
+    /**
+     * Optimistic lock version, incremented by every update and exposed as the ETag.
+     * Null until the device is first persisted.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (creationTime == null) {
             creationTime = LocalDateTime.now();
         }
+        brandKey = normalizeBrand(brand);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        brandKey = normalizeBrand(brand);
+    }
+
+    /**
+     * Normalize a brand for case-insensitive comparison.
+     *
+     * @param brand the brand as entered
+     * @return the lower-cased brand, or null if brand is null
+     */
+    public static String normalizeBrand(String brand) {
+        return brand == null ? null : brand.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,55 @@
+package com.devicehub.api.domain;
+
+import com.devicehub.api.event.DeviceChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the device change log, written in the same transaction as the change.
+ * Carries the device as it is after the change (only the id for deletions), so a
+ * consumer can apply entries without reading the device back.
+ */
+@Entity
+@Table(name = "device_changes", indexes = {
+        @Index(name = "idx_device_changes_device", columnList = "device_id, id"),
+        @Index(name = "idx_device_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceChange {
+
+    /**
+     * Position in the log. Pooled so bulk changes are inserted in JDBC batches.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "device_changes_seq")
+    @SequenceGenerator(name = "device_changes_seq", sequenceName = "device_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private DeviceChangedEvent.Type type;
+
+    private String name;
+
+    private String brand;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private DeviceState state;
+
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,38 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single item of a bulk create request")
+public record DeviceBatchItemResult(
+
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "Item outcome", example = "CREATED")
+        Status status,
+
+        @Schema(description = "The created device, present when status is CREATED")
+        DeviceResponse device,
+
+        @Schema(description = "Reason the item was not created", example = "name: Name is required")
+        String error
+) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    public static DeviceBatchItemResult created(int index, DeviceResponse device) {
+        return new DeviceBatchItemResult(index, Status.CREATED, device, null);
+    }
+
+    public static DeviceBatchItemResult invalid(int index, String error) {
+        return new DeviceBatchItemResult(index, Status.INVALID, null, error);
+    }
+
+    public static DeviceBatchItemResult failed(int index, String error) {
+        return new DeviceBatchItemResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,26 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary and per-item results of a bulk create request")
+public record DeviceBatchResponse(
+
+        @Schema(description = "Number of devices created", example = "2")
+        int created,
+
+        @Schema(description = "Number of items that were not created", example = "1")
+        int rejected,
+
+        @Schema(description = "Per-item results in request order")
+        List<DeviceBatchItemResult> results
+) {
+
+    public static DeviceBatchResponse of(List<DeviceBatchItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.status() == DeviceBatchItemResult.Status.CREATED)
+                .count();
+        return new DeviceBatchResponse(created, results.size() - created, results);
+    }
+}
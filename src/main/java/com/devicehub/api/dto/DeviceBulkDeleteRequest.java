@@ -0,0 +1,14 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Request body for deleting many devices")
+public record DeviceBulkDeleteRequest(
+
+        @Schema(description = "Ids of the devices to delete", example = "[1, 2, 3]")
+        @NotEmpty(message = "At least one id is required")
+        List<Long> ids
+) {}
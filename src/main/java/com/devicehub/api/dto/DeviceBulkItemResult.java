@@ -0,0 +1,33 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk operation for a single device id")
+public record DeviceBulkItemResult(
+
+        @Schema(description = "Device id", example = "1")
+        Long id,
+
+        @Schema(description = "Outcome for this id", example = "UPDATED")
+        Outcome outcome,
+
+        @Schema(description = "Violated business rule, present when outcome is RULE_VIOLATION")
+        String error
+) {
+
+    public enum Outcome {
+        UPDATED,
+        DELETED,
+        UNCHANGED,
+        NOT_FOUND,
+        RULE_VIOLATION
+    }
+
+    public static DeviceBulkItemResult of(Long id, Outcome outcome) {
+        return new DeviceBulkItemResult(id, outcome, null);
+    }
+
+    public static DeviceBulkItemResult ruleViolation(Long id, String error) {
+        return new DeviceBulkItemResult(id, Outcome.RULE_VIOLATION, error);
+    }
+}
@@ -0,0 +1,24 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Summary and per-id outcomes of a bulk operation")
+public record DeviceBulkResponse(
+
+        @Schema(description = "Number of ids per outcome", example = "{\"UPDATED\": 2, \"NOT_FOUND\": 1}")
+        Map<DeviceBulkItemResult.Outcome, Integer> summary,
+
+        @Schema(description = "Per-id outcomes in request order")
+        List<DeviceBulkItemResult> results
+) {
+
+    public static DeviceBulkResponse of(List<DeviceBulkItemResult> results) {
+        Map<DeviceBulkItemResult.Outcome, Integer> summary = new EnumMap<>(DeviceBulkItemResult.Outcome.class);
+        results.forEach(result -> summary.merge(result.outcome(), 1, Integer::sum));
+        return new DeviceBulkResponse(summary, results);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of the device change log in ascending sequence order")
+public record DeviceChangeFeed(
+
+        @Schema(description = "Changes on this page")
+        List<DeviceChangeResponse> changes,
+
+        @Schema(description = "Value to pass as 'since' on the next request", example = "1051")
+        long next,
+
+        @Schema(description = "Whether more changes are available right away")
+        boolean hasMore
+) {}
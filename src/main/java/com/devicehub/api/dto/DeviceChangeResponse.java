@@ -0,0 +1,35 @@
+package com.devicehub.api.dto;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.event.DeviceChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "One entry of the device change log")
+public record DeviceChangeResponse(
+
+        @Schema(description = "Position in the change log; pass the last one seen as 'since'", example = "1051")
+        Long sequence,
+
+        @Schema(description = "Id of the changed device", example = "1")
+        Long deviceId,
+
+        @Schema(description = "Kind of change", example = "UPDATED")
+        DeviceChangedEvent.Type type,
+
+        @Schema(description = "Device name after the change, null for deletions", example = "MacBook Pro")
+        String name,
+
+        @Schema(description = "Device brand after the change, null for deletions", example = "Apple")
+        String brand,
+
+        @Schema(description = "Device state after the change, null for deletions", example = "IN_USE")
+        DeviceState state,
+
+        @Schema(description = "Device version after the change, null for deletions", example = "3")
+        Long version,
+
+        @Schema(description = "Time the change was made", example = "2026-01-18T16:30:00")
+        LocalDateTime changedAt
+) {}
@@ -0,0 +1,37 @@
+package com.devicehub.api.dto;
+
+import com.devicehub.api.domain.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional, combinable criteria for listing devices. Null fields do not filter.
+ *
+ * @param brand brand, compared case-insensitively
+ * @param state device state
+ * @param namePrefix case-sensitive prefix of the device name
+ * @param createdFrom inclusive lower bound of the creation time
+ * @param createdTo exclusive upper bound of the creation time
+ */
+@Schema(description = "Criteria for listing devices; all given criteria must match")
+public record DeviceFilter(
+        String brand,
+        DeviceState state,
+        String namePrefix,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo
+) {
+
+    public static DeviceFilter none() {
+        return new DeviceFilter(null, null, null, null, null);
+    }
+
+    public static DeviceFilter byBrand(String brand) {
+        return new DeviceFilter(brand, null, null, null, null);
+    }
+
+    public static DeviceFilter byState(DeviceState state) {
+        return new DeviceFilter(null, state, null, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.devicehub.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of devices in ascending id order")
+public record DevicePage(
+
+        @Schema(description = "Devices on this page")
+        List<DeviceResponse> items,
+
+        @Schema(description = "Opaque cursor for the next page, null when this is the last page", example = "ZDox")
+        String nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -21,5 +21,8 @@ public record DeviceResponse(
         DeviceState state,
 
         @Schema(description = "Timestamp when device was created", example = "2026-01-18T16:30:00")
-        LocalDateTime creationTime
+        LocalDateTime creationTime,
+
+        @Schema(description = "Version, incremented on every change; also returned as the ETag", example = "0")
+        Long version
 ) {}
@@ -0,0 +1,20 @@
+package com.devicehub.api.dto;
+
+import com.devicehub.api.domain.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(description = "Request body for moving many devices to the same state")
+public record DeviceStateChangeRequest(
+
+        @Schema(description = "Ids of the devices to change", example = "[1, 2, 3]")
+        @NotEmpty(message = "At least one id is required")
+        List<Long> ids,
+
+        @Schema(description = "Target device state", example = "IN_USE")
+        @NotNull(message = "State is required")
+        DeviceState state
+) {}
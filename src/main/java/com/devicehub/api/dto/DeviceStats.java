@@ -0,0 +1,19 @@
+package com.devicehub.api.dto;
+
+import com.devicehub.api.domain.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Device counts by state and by brand")
+public record DeviceStats(
+
+        @Schema(description = "Total number of devices", example = "1200")
+        long total,
+
+        @Schema(description = "Number of devices in each state")
+        Map<DeviceState, Long> byState,
+
+        @Schema(description = "Number of devices per brand (brands compare case-insensitively)")
+        Map<String, Long> byBrand
+) {}
@@ -0,0 +1,38 @@
+package com.devicehub.api.event;
+
+import com.devicehub.api.dto.DeviceResponse;
+
+/**
+ * Published by the service layer for every device mutation, inside the mutating transaction.
+ * Listeners that must only see committed data use {@code @TransactionalEventListener}.
+ *
+ * @param type the kind of change
+ * @param deviceId the id of the changed device
+ * @param before the device before the change, null for creations
+ * @param after the device after the change, null for deletions
+ */
+public record DeviceChangedEvent(
+        Type type,
+        Long deviceId,
+        DeviceResponse before,
+        DeviceResponse after
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static DeviceChangedEvent created(DeviceResponse after) {
+        return new DeviceChangedEvent(Type.CREATED, after.id(), null, after);
+    }
+
+    public static DeviceChangedEvent updated(DeviceResponse before, DeviceResponse after) {
+        return new DeviceChangedEvent(Type.UPDATED, after.id(), before, after);
+    }
+
+    public static DeviceChangedEvent deleted(DeviceResponse before) {
+        return new DeviceChangedEvent(Type.DELETED, before.id(), before, null);
+    }
+}
@@ -0,0 +1,247 @@
+package com.devicehub.api.event;
+
+import com.devicehub.api.config.EventStreamProperties;
+import com.devicehub.api.exception.TooManySubscribersException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed device changes out to Server-Sent Events subscribers.
+ *
+ * <p>Every change gets an id of the form {@code <epoch>-<sequence>} and is kept in a ring buffer
+ * of the last {@code devicehub.events.retained} changes, so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed. If the id is older than the buffer or comes
+ * from a previous run, the client is sent a {@code resync} event and should reload its view.
+ *
+ * <p>Each subscriber has a bounded queue drained by its own virtual thread, so an idle subscriber
+ * costs a parked virtual thread and a small array. Publishing never blocks: a subscriber whose
+ * queue is full is disconnected and can resume from the ring buffer once it has caught up.
+ */
+@Component
+@Slf4j
+public class DeviceEventBroadcaster {
+
+    public static final String SUBSCRIBERS = "devicehub.events.subscribers";
+    public static final String DROPPED = "devicehub.events.subscribers.dropped";
+    public static final String RESYNC = "resync";
+
+    // Control signals for the writer thread, compared by identity
+    private static final StreamedEvent CLOSE = new StreamedEvent(0, null, null);
+    private static final StreamedEvent DROP = new StreamedEvent(0, null, null);
+
+    private final EventStreamProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+
+    // Guarded by this; appending and registering under one lock means a new subscriber
+    // sees every event exactly once, either in its replay or live
+    private final ArrayDeque<StreamedEvent> retained;
+    private long sequence;
+
+    public DeviceEventBroadcaster(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.retained = new ArrayDeque<>(properties.retained());
+        meterRegistry.gaugeCollectionSize(SUBSCRIBERS, Tags.empty(), subscribers);
+        this.dropped = Counter.builder(DROPPED)
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a change feed.
+     *
+     * @param lastEventId the last event id the client received, null for a fresh subscription
+     * @return the emitter streaming missed and future changes
+     * @throws TooManySubscribersException if {@code devicehub.events.max-subscribers} are connected
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            throw new TooManySubscribersException(properties.maxSubscribers());
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber;
+        synchronized (this) {
+            List<StreamedEvent> replay = replaySince(lastEventId);
+            if (replay == null) {
+                replay = List.of(new StreamedEvent(0, null, null));
+            }
+            // Sized so the replay never counts against the live buffer
+            subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter,
+                    new ArrayBlockingQueue<>(properties.subscriberBuffer() + Math.max(replay.size(), 1)));
+            subscriber.queue.addAll(replay);
+            subscribers.add(subscriber);
+        }
+
+        try {
+            // Buffered until the request goes async, then flushed with the headers
+            // so the client sees the stream open before the first change
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException ex) {
+            subscriber.close();
+            throw new UncheckedIOException(ex);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+        Thread.ofVirtual().name("device-events-" + subscriber.id).start(subscriber::run);
+
+        log.debug("Change feed subscribed: subscriber={}, lastEventId={}, subscribers={}",
+                subscriber.id, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Publish a change once it is visible to new readers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDeviceChanged(DeviceChangedEvent event) {
+        long next = ++sequence;
+        StreamedEvent streamed = new StreamedEvent(next, epoch + "-" + next, event);
+        if (retained.size() == properties.retained()) {
+            retained.removeFirst();
+        }
+        retained.addLast(streamed);
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(streamed)) {
+                subscriber.drop();
+            }
+        }
+    }
+
+    /**
+     * Events after the given id, or null if they can no longer be replayed.
+     */
+    private List<StreamedEvent> replaySince(String lastEventId) {
+        if (lastEventId == null) {
+            return List.of();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        long oldest = retained.isEmpty() ? sequence + 1 : retained.getFirst().sequence();
+        if (last > sequence || last < oldest - 1) {
+            return null;
+        }
+        List<StreamedEvent> replay = new ArrayList<>();
+        for (StreamedEvent event : retained) {
+            if (event.sequence() > last) {
+                replay.add(event);
+            }
+        }
+        return replay;
+    }
+
+    /**
+     * A change with its stream id; without a change it tells the client to resync.
+     */
+    private record StreamedEvent(long sequence, String id, DeviceChangedEvent change) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (change == null) {
+                return SseEmitter.event()
+                        .name(RESYNC)
+                        .data("Missed events are no longer retained; reload the devices");
+            }
+            return SseEmitter.event()
+                    .id(id)
+                    .name(change.type().name().toLowerCase(Locale.ROOT))
+                    .data(change, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamedEvent> queue;
+
+        private Subscriber(long id, SseEmitter emitter, BlockingQueue<StreamedEvent> queue) {
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        /**
+         * Drain the queue into the connection until it is closed or dropped.
+         */
+        private void run() {
+            long heartbeatMillis = properties.heartbeat().toMillis();
+            try {
+                while (true) {
+                    StreamedEvent event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == CLOSE) {
+                        return;
+                    }
+                    if (event == DROP) {
+                        emitter.complete();
+                        return;
+                    }
+                    emitter.send(event == null ? SseEmitter.event().comment("heartbeat") : event.toSse());
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Change feed connection lost: subscriber={}, cause={}", id, ex.toString());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        /**
+         * Stop after the connection ended on its own (completion, timeout or error).
+         */
+        private void close() {
+            if (subscribers.remove(this)) {
+                signal(CLOSE);
+            }
+        }
+
+        /**
+         * Disconnect a subscriber that fell behind. Called with the broadcaster lock held.
+         */
+        private void drop() {
+            if (subscribers.remove(this)) {
+                dropped.increment();
+                log.warn("Change feed subscriber dropped for falling behind: subscriber={}, buffer={}",
+                        id, properties.subscriberBuffer());
+                signal(DROP);
+            }
+        }
+
+        private void signal(StreamedEvent command) {
+            do {
+                queue.clear();
+            } while (!queue.offer(command));
+        }
+    }
+}
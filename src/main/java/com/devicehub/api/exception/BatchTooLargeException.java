@@ -0,0 +1,11 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when a bulk request contains more items than allowed.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int maxItems) {
+        super("Batch exceeds the maximum of " + maxItems + " items");
+    }
+}
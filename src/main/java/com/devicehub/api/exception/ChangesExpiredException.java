@@ -0,0 +1,12 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when a consumer asks for changes that retention has already deleted.
+ */
+public class ChangesExpiredException extends RuntimeException {
+
+    public ChangesExpiredException(long since, long purgedThrough) {
+        super("Changes after " + since + " are no longer retained; re-read all devices and continue from since="
+                + purgedThrough);
+    }
+}
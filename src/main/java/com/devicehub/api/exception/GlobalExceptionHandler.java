@@ -1,8 +1,15 @@
 package com.devicehub.api.exception;
 
+import com.devicehub.api.config.LoggingProperties;
+import com.devicehub.api.logging.LogSampler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,18 +24,29 @@
 /**
  * Global exception handler using RFC 7807 Problem Details for HTTP APIs.
  * Provides consistent error responses across all endpoints.
+ * 404s are logged at most once per {@code devicehub.logging.not-found-sample-interval},
+ * since clients probing for missing devices can produce them at request rate.
  */
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final LogSampler notFoundSampler;
+
+    public GlobalExceptionHandler(LoggingProperties loggingProperties) {
+        this.notFoundSampler = new LogSampler(loggingProperties.notFoundSampleInterval());
+    }
+
     /**
      * Handle DeviceNotFoundException - returns 404 Not Found.
      */
     @ExceptionHandler(DeviceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ProblemDetail handleDeviceNotFoundException(DeviceNotFoundException ex) {
-        log.warn("Device not found: {}", ex.getMessage());
+        long suppressed = notFoundSampler.tryAcquire();
+        if (suppressed >= 0) {
+            log.warn("Device not found: {} (similar since last logged: {})", ex.getMessage(), suppressed);
+        }
 
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
                 HttpStatus.NOT_FOUND,
@@ -60,6 +78,203 @@ public ProblemDetail handleBusinessRuleViolationException(BusinessRuleViolationE
         return problemDetail;
     }
 
+    /**
+     * Handle InvalidCursorException - returns 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ProblemDetail handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Invalid Cursor");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/invalid-cursor"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle BatchTooLargeException - returns 413 Payload Too Large.
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ProblemDetail handleBatchTooLargeException(BatchTooLargeException ex) {
+        log.warn("Batch rejected: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.PAYLOAD_TOO_LARGE,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Batch Too Large");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/batch-too-large"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle ChangesExpiredException - returns 410 Gone.
+     */
+    @ExceptionHandler(ChangesExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ProblemDetail handleChangesExpiredException(ChangesExpiredException ex) {
+        log.warn("Change log position expired: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.GONE,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Changes Expired");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/changes-expired"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle TooManySubscribersException - returns 503 Service Unavailable.
+     */
+    @ExceptionHandler(TooManySubscribersException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ProblemDetail handleTooManySubscribersException(TooManySubscribersException ex) {
+        log.warn("Subscription rejected: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Too Many Subscribers");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/too-many-subscribers"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle WriteQueueFullException - returns 429 Too Many Requests with Retry-After.
+     */
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleWriteQueueFullException(WriteQueueFullException ex) {
+        log.warn("Update rejected: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Update Queue Full");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/update-queue-full"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
+    /**
+     * Handle RateLimitExceededException - returns 429 Too Many Requests with Retry-After.
+     * Logged at DEBUG only: a client over its rate produces one per request, and rejections are counted.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRateLimitExceededException(RateLimitExceededException ex) {
+        log.debug("Request rate limited: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Rate Limit Exceeded");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/rate-limit-exceeded"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
+    /**
+     * Handle ServerBusyException - returns 429 Too Many Requests with Retry-After.
+     * Logged at DEBUG only, since load shedding rejects many requests at once; rejections are counted.
+     */
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<ProblemDetail> handleServerBusyException(ServerBusyException ex) {
+        log.debug("Request shed: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Server Busy");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/server-busy"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
+    /**
+     * Handle PreconditionFailedException - returns 412 Precondition Failed.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ProblemDetail handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.PRECONDITION_FAILED,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Precondition Failed");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/precondition-failed"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle optimistic locking failures (a concurrent write committed first) - returns 409 Conflict.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ProblemDetail handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                "The device was modified concurrently; fetch it again and retry"
+        );
+        problemDetail.setTitle("Concurrent Modification");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/concurrent-modification"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return problemDetail;
+    }
+
+    /**
+     * Handle an exhausted connection pool (no connection within the timeout, or too many waiting)
+     * - returns 503 Service Unavailable with Retry-After.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseUnavailable(RuntimeException ex) {
+        log.warn("Database unavailable: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The database is busy; retry shortly"
+        );
+        problemDetail.setTitle("Database Unavailable");
+        problemDetail.setType(URI.create("https://devicehub.api/errors/database-unavailable"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
     /**
      * Handle validation errors - returns 400 Bad Request.
      */
@@ -0,0 +1,12 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when a conditional request (If-Match) does not match
+ * the current version of the device.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(Long id, Long currentVersion) {
+        super("Device " + id + " has been modified: If-Match does not match current version " + currentVersion);
+    }
+}
@@ -0,0 +1,11 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when the maximum number of requests is already being processed.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    public ServerBusyException(int maxConcurrent) {
+        super("The server is processing the maximum of " + maxConcurrent + " requests; retry later");
+    }
+}
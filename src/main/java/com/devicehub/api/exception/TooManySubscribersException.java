@@ -0,0 +1,11 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when the change feed already has the maximum number of subscribers.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(int maxSubscribers) {
+        super("The change feed is limited to " + maxSubscribers + " subscribers; retry later");
+    }
+}
@@ -0,0 +1,11 @@
+package com.devicehub.api.exception;
+
+/**
+ * Exception thrown when the write-behind queue holds updates for the maximum number of devices.
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(int capacity) {
+        super("The update queue is full (" + capacity + " devices pending); retry later");
+    }
+}
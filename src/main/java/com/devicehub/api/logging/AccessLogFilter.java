@@ -0,0 +1,97 @@
+package com.devicehub.api.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes one access log line per request, once the response is complete, with the method, path,
+ * status and duration as structured key-value pairs. Streaming and event-stream requests are
+ * logged when their asynchronous processing ends.
+ *
+ * <p>Logged at INFO on the {@value #LOGGER} logger, which can be switched off independently.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j(topic = AccessLogFilter.LOGGER)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER = "devicehub.access";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(
+                        new CompletionListener(request, start, MDC.getCopyOfContextMap()));
+            } else {
+                // An exception escaping the chain becomes a 500 after this filter returns
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, int status, long start) {
+        long micros = (System.nanoTime() - start) / 1_000;
+        log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", micros / 1_000.0)
+                .log("request");
+    }
+
+    private record CompletionListener(HttpServletRequest request, long start, Map<String, String> context)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Also called after a timeout or error, with the final status, on a container thread
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                log(request, response.getStatus(), start);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
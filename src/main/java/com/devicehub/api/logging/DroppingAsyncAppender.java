@@ -0,0 +1,51 @@
+package com.devicehub.api.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender that never blocks the logging thread and counts what it drops.
+ *
+ * <p>Once the queue is filled beyond {@code discardingThreshold}, INFO and lower events are
+ * discarded; once it is full, every event is. Logback drops these silently, so the count is
+ * kept here and published as {@value #DROPPED} by {@link com.devicehub.api.config.MetricsConfig}.
+ * The appender is created by Logback before the application context, hence the static counter.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    public static final String DROPPED = "devicehub.logging.events.dropped";
+
+    private static final LongAdder DROPPED_EVENTS = new LongAdder();
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    /**
+     * Total events dropped by every instance since the JVM started.
+     */
+    public static long droppedEvents() {
+        return DROPPED_EVENTS.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            DROPPED_EVENTS.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        long dropped = droppedEvents();
+        if (dropped > 0) {
+            addWarn("Dropped " + dropped + " logging events because the queue was full");
+        }
+    }
+}
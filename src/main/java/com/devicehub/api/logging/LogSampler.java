@@ -0,0 +1,43 @@
+package com.devicehub.api.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one event per interval through to the log and counts the rest, for log statements on
+ * paths whose volume is driven by clients. Lock-free, so concurrent callers never wait on it.
+ *
+ * <pre>{@code
+ * long suppressed = sampler.tryAcquire();
+ * if (suppressed >= 0) {
+ *     log.warn("Device not found: {} (suppressed={})", message, suppressed);
+ * }
+ * }</pre>
+ */
+public class LogSampler {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAt;
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Decide whether the current event is logged.
+     *
+     * @return the number of events suppressed since the last logged one, or -1 if this one is suppressed too
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAt.get();
+        if (now - next >= 0 && nextAt.compareAndSet(next, now + intervalNanos)) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.devicehub.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Business metrics of the device API, complementing the request and method timers:
+ * <ul>
+ *   <li>{@code devicehub.devices.result.size} - devices returned per list call, by {@code operation}</li>
+ *   <li>{@code devicehub.devices.not.found} - lookups of missing devices, by {@code operation}</li>
+ *   <li>{@code devicehub.rule.violations} - changes rejected by business rules, by {@code operation}</li>
+ * </ul>
+ * Meters are registered once per operation and reused, so recording stays off the registry.
+ */
+@Component
+public class DeviceMetrics {
+
+    public static final String RESULT_SIZE = "devicehub.devices.result.size";
+    public static final String NOT_FOUND = "devicehub.devices.not.found";
+    public static final String RULE_VIOLATIONS = "devicehub.rule.violations";
+
+    private static final String OPERATION_TAG = "operation";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> notFound = new ConcurrentHashMap<>();
+    private final Map<String, Counter> ruleViolations = new ConcurrentHashMap<>();
+
+    public DeviceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record how many devices a list operation returned.
+     *
+     * @param operation the list operation, e.g. {@code findPage}
+     * @param size number of devices returned
+     */
+    public void recordResultSize(String operation, int size) {
+        resultSizes.computeIfAbsent(operation, op -> DistributionSummary.builder(RESULT_SIZE)
+                        .description("Devices returned per list call")
+                        .baseUnit("devices")
+                        .tag(OPERATION_TAG, op)
+                        .register(meterRegistry))
+                .record(size);
+    }
+
+    /**
+     * Count a lookup of a device that does not exist.
+     *
+     * @param operation the operation that looked the device up
+     */
+    public void notFound(String operation) {
+        notFound.computeIfAbsent(operation, op -> Counter.builder(NOT_FOUND)
+                        .description("Lookups of devices that do not exist")
+                        .tag(OPERATION_TAG, op)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Count a change rejected by a business rule.
+     *
+     * @param operation the operation that was rejected
+     */
+    public void ruleViolation(String operation) {
+        ruleViolations.computeIfAbsent(operation, op -> Counter.builder(RULE_VIOLATIONS)
+                        .description("Changes rejected by business rules")
+                        .tag(OPERATION_TAG, op)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
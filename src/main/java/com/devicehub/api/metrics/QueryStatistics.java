@@ -0,0 +1,150 @@
+package com.devicehub.api.metrics;
+
+import com.devicehub.api.config.QueryStatisticsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Statistics per distinct SQL statement, recorded by {@link com.devicehub.api.config.QueryTimingDataSource}
+ * for every statement the application executes. Count, total time and rows are cumulative since
+ * startup or the last {@link #reset()}; p99 and max cover the last few minutes.
+ *
+ * <p>Statements are keyed by their SQL with {@code IN (?, ?, ...)} lists collapsed, so a query
+ * with a varying number of ids is one entry. Statements at or above the slow threshold are logged
+ * at WARN on the {@value #LOGGER} logger and counted as {@code devicehub.queries.slow}.
+ */
+@Component
+@Slf4j(topic = QueryStatistics.LOGGER)
+public class QueryStatistics {
+
+    public static final String LOGGER = "devicehub.sql.slow";
+    public static final String SLOW = "devicehub.queries.slow";
+
+    /**
+     * Key under which statements beyond {@code maxTracked} are counted together.
+     */
+    public static final String OTHER = "(other)";
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+    // Per-statement timers are kept out of the application registry: SQL is no metric tag
+    private final MeterRegistry statementRegistry = new SimpleMeterRegistry();
+    private final long slowThresholdNanos;
+    private final int maxTracked;
+    private final Counter slow;
+
+    public QueryStatistics(QueryStatisticsProperties properties, MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.maxTracked = properties.maxTracked();
+        this.slow = Counter.builder(SLOW)
+                .description("Statements that took at least the slow query threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record one execution of a statement.
+     *
+     * @param sql the statement as sent to the driver
+     * @param binds number of bound parameters, over all rows of a batch
+     * @param rows rows fetched by a query, or changed by an update
+     * @param nanos time spent in the driver executing the statement and fetching its rows
+     */
+    public void record(String sql, int binds, long rows, long nanos) {
+        stats(normalize(sql)).record(rows, nanos);
+        if (nanos >= slowThresholdNanos) {
+            slow.increment();
+            log.atWarn()
+                    .addKeyValue("durationMs", nanos / 1_000 / 1_000.0)
+                    .addKeyValue("rows", rows)
+                    .addKeyValue("binds", binds)
+                    .addKeyValue("sql", sql)
+                    .log("slow query");
+        }
+    }
+
+    /**
+     * Current statistics of every tracked statement, in no particular order.
+     */
+    public List<QuerySummary> summaries() {
+        return queries.values().stream().map(QueryStats::summary).toList();
+    }
+
+    /**
+     * Forget all statistics, e.g. before measuring a load test.
+     */
+    public void reset() {
+        queries.clear();
+        statementRegistry.clear();
+    }
+
+    private QueryStats stats(String sql) {
+        QueryStats stats = queries.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // Checked without locking; concurrent first executions may overshoot the limit slightly
+        String key = queries.size() < maxTracked ? sql : OTHER;
+        return queries.computeIfAbsent(key, QueryStats::new);
+    }
+
+    static String normalize(String sql) {
+        return sql.indexOf('?') < 0 ? sql : PARAMETER_LIST.matcher(sql).replaceAll("(?, ...)");
+    }
+
+    /**
+     * Statistics of one statement, in milliseconds.
+     *
+     * @param sql the statement, with parameter lists collapsed
+     * @param count executions
+     * @param totalMs time spent in all executions
+     * @param meanMs mean time per execution
+     * @param p99Ms 99th percentile over the last few minutes
+     * @param maxMs longest execution over the last few minutes
+     * @param rows rows fetched or changed by all executions
+     */
+    public record QuerySummary(String sql, long count, double totalMs, double meanMs, double p99Ms,
+                               double maxMs, long rows) {}
+
+    private final class QueryStats {
+
+        private final String sql;
+        private final Timer timer;
+        private final LongAdder rows = new LongAdder();
+
+        QueryStats(String sql) {
+            this.sql = sql;
+            this.timer = Timer.builder("query")
+                    .tag("sql", sql)
+                    .publishPercentiles(0.99)
+                    .percentilePrecision(2)
+                    .register(statementRegistry);
+        }
+
+        void record(long rows, long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            this.rows.add(rows);
+        }
+
+        QuerySummary summary() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            double p99 = snapshot.percentileValues().length > 0
+                    ? snapshot.percentileValues()[0].value(TimeUnit.MILLISECONDS)
+                    : 0;
+            return new QuerySummary(sql, snapshot.count(), snapshot.total(TimeUnit.MILLISECONDS),
+                    snapshot.mean(TimeUnit.MILLISECONDS), p99, snapshot.max(TimeUnit.MILLISECONDS), rows.sum());
+        }
+    }
+}
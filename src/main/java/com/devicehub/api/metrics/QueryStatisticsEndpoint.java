@@ -0,0 +1,50 @@
+package com.devicehub.api.metrics;
+
+import com.devicehub.api.metrics.QueryStatistics.QuerySummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/queries}: the statements with the highest total and p99 time.
+ * {@code GET} takes an optional {@code limit} (default {@value #DEFAULT_LIMIT}); {@code DELETE}
+ * resets the statistics.
+ */
+@Component
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueryStatisticsEndpoint {
+
+    static final int DEFAULT_LIMIT = 10;
+
+    private final QueryStatistics queryStatistics;
+
+    @ReadOperation
+    public QueryReport queries(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        List<QuerySummary> summaries = queryStatistics.summaries();
+        return new QueryReport(
+                top(summaries, Comparator.comparingDouble(QuerySummary::totalMs), top),
+                top(summaries, Comparator.comparingDouble(QuerySummary::p99Ms), top));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryStatistics.reset();
+    }
+
+    private static List<QuerySummary> top(List<QuerySummary> summaries, Comparator<QuerySummary> order, int limit) {
+        return summaries.stream().sorted(order.reversed()).limit(limit).toList();
+    }
+
+    /**
+     * Top statements by total time, the ones worth optimizing, and by p99, the ones behind slow requests.
+     */
+    public record QueryReport(List<QuerySummary> byTotalTime, List<QuerySummary> byP99) {}
+}
@@ -0,0 +1,144 @@
+package com.devicehub.api.ratelimit;
+
+import com.devicehub.api.config.RateLimitProperties;
+import com.devicehub.api.exception.RateLimitExceededException;
+import com.devicehub.api.exception.ServerBusyException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admission control for the device API, applied before a request reaches the controller:
+ * <ol>
+ *   <li>each client spends tokens from its own {@link TokenBucket}, more for lists than for
+ *       single reads, and is rejected with 429 and the time until it may retry once it runs out;</li>
+ *   <li>at most {@code maxConcurrent} requests are processed at once, so overload is shed with 429
+ *       before requests pile up waiting for database connections.</li>
+ * </ol>
+ * A client is the value of the client header (an API key), or the remote address without one.
+ * Asynchronous requests (export, change feed) hold their concurrency slot only until the
+ * controller returns.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String REJECTED = "devicehub.admission.rejected";
+    public static final String ACTIVE = "devicehub.admission.active";
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final int MAX_CLIENT_KEY_LENGTH = 128;
+
+    /**
+     * Kinds of requests, each with its own token cost.
+     */
+    enum Operation {
+        LIST, READ, WRITE
+    }
+
+    private final RateLimitProperties properties;
+    private final LoadingCache<String, TokenBucket> buckets;
+    private final Semaphore permits;
+    private final Map<Operation, Integer> costs = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> rateLimited = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> shed = new EnumMap<>(Operation.class);
+
+    public AdmissionControlInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        // An idle client's bucket refills completely within this time, so dropping it loses nothing
+        Duration refill = Duration.ofNanos((long) (properties.burst() / properties.tokensPerSecond() * 1e9));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(refill.plusSeconds(1))
+                .build(client -> new TokenBucket(properties.tokensPerSecond(), properties.burst()));
+        this.permits = new Semaphore(properties.maxConcurrent());
+        costs.put(Operation.LIST, properties.listCost());
+        costs.put(Operation.READ, properties.readCost());
+        costs.put(Operation.WRITE, properties.writeCost());
+        for (Operation operation : Operation.values()) {
+            rateLimited.put(operation, rejected(meterRegistry, "rate_limit", operation));
+            shed.put(operation, rejected(meterRegistry, "concurrency", operation));
+        }
+        Gauge.builder(ACTIVE, permits, semaphore -> properties.maxConcurrent() - semaphore.availablePermits())
+                .description("Device API requests being processed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            // Async and error dispatches were admitted with the original request
+            return true;
+        }
+        Operation operation = operation(request);
+
+        long waitNanos = buckets.get(client(request)).tryAcquire(costs.get(operation));
+        if (waitNanos > 0) {
+            rateLimited.get(operation).increment();
+            throw new RateLimitExceededException(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+        }
+
+        if (!permits.tryAcquire()) {
+            shed.get(operation).increment();
+            throw new ServerBusyException(properties.maxConcurrent());
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            permits.release();
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String key = request.getHeader(properties.clientHeader());
+        if (key != null && !key.isBlank()) {
+            return "key:" + (key.length() > MAX_CLIENT_KEY_LENGTH ? key.substring(0, MAX_CLIENT_KEY_LENGTH) : key);
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    static Operation operation(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return Operation.WRITE;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return "/api/devices".equals(pattern) || "/api/devices/export".equals(pattern)
+                ? Operation.LIST
+                : Operation.READ;
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason, Operation operation) {
+        return Counter.builder(REJECTED)
+                .description("Device API requests rejected by admission control")
+                .tag("reason", reason)
+                .tag("operation", operation.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.devicehub.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate algorithm): the time at which the
+ * bucket would be full again. Taking tokens moves it forward by their refill time, and is refused
+ * when that would put it more than a full bucket ahead of now. Lock-free: one compare-and-set per
+ * admitted request.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond refill rate
+     * @param burst bucket size; a new bucket starts full
+     */
+    public TokenBucket(double tokensPerSecond, int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * @param tokensPerSecond refill rate
+     * @param burst bucket size; a new bucket starts full
+     * @param clock source of {@link System#nanoTime()}-like timestamps
+     */
+    TokenBucket(double tokensPerSecond, int burst, LongSupplier clock) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Take tokens if the bucket holds enough.
+     *
+     * @param tokens tokens to take; more than the bucket size takes a full bucket
+     * @return 0 if they were taken, otherwise nanoseconds until enough have refilled
+     */
+    public long tryAcquire(int tokens) {
+        long cost = Math.min(tokens * nanosPerToken, burstNanos);
+        long now = clock.getAsLong();
+        while (true) {
+            long current = fullAt.get();
+            // An idle bucket is full, not more than full
+            long next = (current - now > 0 ? current : now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.devicehub.api.repository;
+
+import com.devicehub.api.domain.DeviceChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the device change log.
+ */
+@Repository
+public interface DeviceChangeRepository extends JpaRepository<DeviceChange, Long> {
+
+    /**
+     * Read the log in order within {@code (after, before)}.
+     *
+     * @param after exclusive lower bound, the last id the consumer has seen
+     * @param before exclusive upper bound, the first id that may still be uncommitted
+     * @param limit maximum number of entries
+     * @return entries in ascending id order
+     */
+    List<DeviceChange> findByIdGreaterThanAndIdLessThanOrderByIdAsc(long after, long before, Limit limit);
+
+    /**
+     * Highest id written before the given time, null if there is none.
+     */
+    @Query("select max(c.id) from DeviceChange c where c.changedAt < :before")
+    Long findMaxIdChangedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Highest id in the log, null if the log is empty.
+     */
+    @Query("select max(c.id) from DeviceChange c")
+    Long findMaxId();
+
+    /**
+     * Lowest id still in the log, null if the log is empty.
+     */
+    @Query("select min(c.id) from DeviceChange c")
+    Long findMinId();
+
+    /**
+     * Retention: drop every entry up to the given id.
+     *
+     * @return number of deleted entries
+     */
+    @Modifying
+    @Query("delete from DeviceChange c where c.id <= :id")
+    int deleteUpToId(@Param("id") long id);
+
+    /**
+     * Compaction: drop entries written before the given time that a later entry for the
+     * same device supersedes. Replaying the compacted log still ends in the same state.
+     *
+     * @return number of deleted entries
+     */
+    @Modifying
+    @Query("""
+            delete from DeviceChange c
+            where c.changedAt < :before
+              and exists (select 1 from DeviceChange n where n.deviceId = c.deviceId and n.id > c.id)
+            """)
+    int deleteSupersededBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package com.devicehub.api.repository;
+
+import com.devicehub.api.domain.DeviceState;
+
+/**
+ * Number of devices sharing a state and a (case-insensitive) brand.
+ *
+ * @param state the device state
+ * @param brandKey the normalized brand
+ * @param brand one spelling of the brand as entered, for display
+ * @param count number of devices
+ */
+public record DeviceCount(DeviceState state, String brandKey, String brand, long count) {
+}
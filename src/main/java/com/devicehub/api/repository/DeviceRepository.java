@@ -2,25 +2,95 @@
 
 import com.devicehub.api.domain.Device;
 import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceResponse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Device entity operations.
  * Provides CRUD operations and custom queries for filtering devices.
+ * Combinable list filters are expressed with {@link DeviceSpecifications}.
  */
 @Repository
-public interface DeviceRepository extends JpaRepository<Device, Long> {
+public interface DeviceRepository extends JpaRepository<Device, Long>, JpaSpecificationExecutor<Device> {
 
     /**
      * Find all devices by brand (case-insensitive).
+     * Compares the indexed, normalized {@code brand_key} column.
      *
      * @param brand the brand name to search for
      * @return list of devices matching the brand
      */
-    List<Device> findByBrandIgnoreCase(String brand);
+    @Query("select d from Device d where d.brandKey = lower(:brand)")
+    List<Device> findByBrandIgnoreCase(@Param("brand") String brand);
+
+    /**
+     * Find a device as a response, without loading a managed entity.
+     * Read-only like the inherited {@code findById}, since declared queries get no transaction by default.
+     *
+     * @param id the device ID
+     * @return the device, if it exists
+     */
+    @Transactional(readOnly = true)
+    @Query("select " + RESPONSE + " from Device d where d.id = :id")
+    Optional<DeviceResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Find all devices as responses, without loading managed entities.
+     *
+     * @return all devices
+     */
+    @Query("select " + RESPONSE + " from Device d")
+    List<DeviceResponse> findAllResponses();
+
+    /**
+     * Find devices by brand (case-insensitive) as responses, without loading managed entities.
+     * Runs in its own read-only transaction so callers need not hold one.
+     *
+     * @param brand the brand name to search for
+     * @return devices matching the brand
+     */
+    @Transactional(readOnly = true)
+    @Query("select " + RESPONSE + " from Device d where d.brandKey = lower(:brand)")
+    List<DeviceResponse> findResponsesByBrand(@Param("brand") String brand);
+
+    /**
+     * Find devices by state as responses, without loading managed entities.
+     * Runs in its own read-only transaction so callers need not hold one.
+     *
+     * @param state the device state to filter by
+     * @return devices in the specified state
+     */
+    @Transactional(readOnly = true)
+    @Query("select " + RESPONSE + " from Device d where d.state = :state")
+    List<DeviceResponse> findResponsesByState(@Param("state") DeviceState state);
+
+    /**
+     * Count devices per state and brand in a single grouped scan.
+     *
+     * @return one row per state and brand combination that has devices
+     */
+    @Query("""
+            select new com.devicehub.api.repository.DeviceCount(d.state, d.brandKey, min(d.brand), count(d))
+            from Device d
+            group by d.state, d.brandKey
+            """)
+    List<DeviceCount> countByStateAndBrand();
 
     /**
      * Find all devices by state.
@@ -29,4 +99,72 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
      * @return list of devices in the specified state
      */
     List<Device> findByState(DeviceState state);
+
+    /**
+     * Stream all devices in id order through a server-side cursor.
+     * Entities are loaded read-only and fetched in chunks of {@code EXPORT_FETCH_SIZE};
+     * the caller must consume and close the stream inside a transaction.
+     *
+     * @return a lazily fetched stream of all devices
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Device> streamAllByOrderByIdAsc();
+
+    /**
+     * Load devices by id, locking their rows until the transaction ends so that
+     * set-based rule checks cannot race concurrent writers.
+     *
+     * @param ids the device ids
+     * @return the devices that exist, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Device d where d.id in :ids")
+    List<Device> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read devices by id as responses, locking their rows until the transaction ends.
+     *
+     * @param ids the device ids
+     * @return the devices that exist, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select " + RESPONSE + " from Device d where d.id in :ids")
+    List<DeviceResponse> findResponsesByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete many devices with a single DELETE statement, skipping devices that are IN_USE.
+     *
+     * @param ids the device ids
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Device d where d.id in :ids and d.state <> com.devicehub.api.domain.DeviceState.IN_USE")
+    int deleteNotInUseByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move many devices to the same state with a single UPDATE statement.
+     * Increments each row's version, as an entity update would.
+     *
+     * @param ids the device ids
+     * @param state the target state
+     * @return the number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Device d set d.state = :state, d.version = d.version + 1 where d.id in :ids")
+    int updateStateByIdIn(@Param("ids") Collection<Long> ids, @Param("state") DeviceState state);
+
+    /**
+     * JDBC fetch size used when streaming the whole table.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Constructor expression building a {@link DeviceResponse} from {@code Device d}.
+     * Rows become records directly: no entity instances, persistence context entries or
+     * dirty-checking snapshots are created.
+     */
+    String RESPONSE = "new com.devicehub.api.dto.DeviceResponse(d.id, d.name, d.brand, d.state, d.creationTime, d.version)";
 }
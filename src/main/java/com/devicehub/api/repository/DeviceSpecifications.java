@@ -0,0 +1,83 @@
+package com.devicehub.api.repository;
+
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query building blocks for filtering devices with {@link DeviceRepository#findBy}.
+ * Every criterion is pushed down to SQL so the database returns only matching rows.
+ */
+public final class DeviceSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private DeviceSpecifications() {
+    }
+
+    /**
+     * Combine all non-null criteria of a filter with AND.
+     *
+     * @param filter the filter, null fields are ignored
+     * @return a specification matching every given criterion
+     */
+    public static Specification<Device> matching(DeviceFilter filter) {
+        Specification<Device> spec = Specification.where(null);
+        if (filter.brand() != null) {
+            spec = spec.and(brandIs(filter.brand()));
+        }
+        if (filter.state() != null) {
+            spec = spec.and(stateIs(filter.state()));
+        }
+        if (filter.namePrefix() != null && !filter.namePrefix().isEmpty()) {
+            spec = spec.and(nameStartsWith(filter.namePrefix()));
+        }
+        if (filter.createdFrom() != null) {
+            spec = spec.and(createdAtOrAfter(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            spec = spec.and(createdBefore(filter.createdTo()));
+        }
+        return spec;
+    }
+
+    /**
+     * Case-insensitive brand match on the indexed, normalized brand column.
+     */
+    public static Specification<Device> brandIs(String brand) {
+        return (root, query, cb) -> cb.equal(root.get("brandKey"), Device.normalizeBrand(brand));
+    }
+
+    public static Specification<Device> stateIs(DeviceState state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    /**
+     * Case-sensitive name prefix; LIKE wildcards in the prefix match literally.
+     */
+    public static Specification<Device> nameStartsWith(String prefix) {
+        String escaped = prefix
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("name"), escaped + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<Device> createdAtOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("creationTime"), from);
+    }
+
+    public static Specification<Device> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("creationTime"), to);
+    }
+
+    /**
+     * Keyset predicate: devices after the last id of the previous page.
+     */
+    public static Specification<Device> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
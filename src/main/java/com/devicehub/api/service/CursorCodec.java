@@ -0,0 +1,50 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursor tokens.
+ * Clients must treat the token as opaque; only the service interprets it.
+ */
+final class CursorCodec {
+
+    private static final String PREFIX = "d:";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    static String encode(long lastId) {
+        return ENCODER.encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into the last seen device id.
+     *
+     * @param cursor the cursor token, may be null or blank for the first page
+     * @return the id to continue after, 0 for the first page
+     * @throws InvalidCursorException if the token is malformed
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            long lastId = Long.parseLong(decoded.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.config.BatchProperties;
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceBatchItemResult;
+import com.devicehub.api.dto.DeviceBatchResponse;
+import com.devicehub.api.dto.DeviceBulkDeleteRequest;
+import com.devicehub.api.dto.DeviceBulkItemResult;
+import com.devicehub.api.dto.DeviceBulkResponse;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStateChangeRequest;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.devicehub.api.exception.BatchTooLargeException;
+import com.devicehub.api.metrics.DeviceMetrics;
+import com.devicehub.api.repository.DeviceRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk device operations.
+ * Items are validated individually and written with set-based statements,
+ * so one bad item never rejects the rest of the request.
+ */
+@Service
+@Slf4j
+@Timed(value = DeviceService.TIMER, description = "Device service method latency")
+public class DeviceBulkService {
+
+    private final DeviceRepository deviceRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeviceMetrics deviceMetrics;
+
+    public DeviceBulkService(DeviceRepository deviceRepository,
+                             EntityManager entityManager,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             BatchProperties batchProperties,
+                             ApplicationEventPublisher eventPublisher,
+                             DeviceMetrics deviceMetrics) {
+        this.deviceRepository = deviceRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchProperties = batchProperties;
+        this.eventPublisher = eventPublisher;
+        this.deviceMetrics = deviceMetrics;
+    }
+
+    /**
+     * Create many devices at once.
+     * Valid items are inserted in chunks of {@code devicehub.batch.chunk-size}, each chunk in
+     * its own transaction using JDBC batching. A {@code null} item stands for an unreadable entry.
+     *
+     * @param requests the creation requests in request order
+     * @return summary and per-item results in request order
+     * @throws BatchTooLargeException if more than {@code devicehub.batch.max-items} items are supplied
+     */
+    public DeviceBatchResponse createAll(Iterator<DeviceCreateRequest> requests) {
+        List<DeviceCreateRequest> items = drain(requests);
+        log.debug("Creating devices in bulk: items={}", items.size());
+
+        DeviceBatchItemResult[] results = new DeviceBatchItemResult[items.size()];
+        List<Integer> chunk = new ArrayList<>(batchProperties.chunkSize());
+
+        for (int index = 0; index < items.size(); index++) {
+            String error = validate(items.get(index));
+            if (error != null) {
+                results[index] = DeviceBatchItemResult.invalid(index, error);
+                continue;
+            }
+            chunk.add(index);
+            if (chunk.size() == batchProperties.chunkSize()) {
+                persistChunk(items, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(items, chunk, results);
+        }
+
+        DeviceBatchResponse response = DeviceBatchResponse.of(Arrays.asList(results));
+        log.info("Bulk create finished: created={}, rejected={}", response.created(), response.rejected());
+        return response;
+    }
+
+    /**
+     * Move many devices to the same state.
+     * Rows are locked and checked against the update rules with one query per chunk of ids,
+     * then every eligible device in the chunk is changed by a single bulk UPDATE.
+     * The whole request runs in one transaction.
+     *
+     * @param request the ids and the target state
+     * @return summary and per-id outcomes in request order (duplicate and null ids are skipped)
+     * @throws BatchTooLargeException if more than {@code devicehub.batch.max-items} ids are supplied
+     */
+    public DeviceBulkResponse changeStates(DeviceStateChangeRequest request) {
+        List<Long> ids = distinctIds(request.ids());
+        log.debug("Changing device states in bulk: ids={}, state={}", ids.size(), request.state());
+
+        DeviceUpdateRequest change = new DeviceUpdateRequest(null, null, request.state());
+        Map<Long, DeviceBulkItemResult> outcomes = transactionTemplate.execute(status -> {
+            Map<Long, DeviceBulkItemResult> results = new HashMap<>();
+            for (List<Long> chunk : partition(ids)) {
+                Map<Long, Device> devices = deviceRepository.findAllByIdForUpdate(chunk).stream()
+                        .collect(Collectors.toMap(Device::getId, Function.identity()));
+
+                List<Long> eligible = new ArrayList<>();
+                for (Long id : chunk) {
+                    results.put(id, classifyStateChange(id, devices.get(id), change, eligible));
+                }
+                if (!eligible.isEmpty()) {
+                    deviceRepository.updateStateByIdIn(eligible, request.state());
+                    eligible.forEach(id -> publishStateChange(devices.get(id), request.state()));
+                }
+            }
+            return results;
+        });
+
+        DeviceBulkResponse response = DeviceBulkResponse.of(ids.stream().map(outcomes::get).toList());
+        log.info("Bulk state change finished: summary={}", response.summary());
+        return response;
+    }
+
+    /**
+     * Delete many devices.
+     * Each chunk of ids is locked and checked against the delete rule with one query, then every
+     * eligible device is removed by a single bulk DELETE that also excludes IN_USE rows.
+     * The whole request runs in one transaction.
+     *
+     * @param request the ids to delete
+     * @return summary and per-id outcomes in request order (duplicate and null ids are skipped)
+     * @throws BatchTooLargeException if more than {@code devicehub.batch.max-items} ids are supplied
+     */
+    public DeviceBulkResponse deleteAll(DeviceBulkDeleteRequest request) {
+        List<Long> ids = distinctIds(request.ids());
+        log.debug("Deleting devices in bulk: ids={}", ids.size());
+
+        Map<Long, DeviceBulkItemResult> outcomes = transactionTemplate.execute(status -> {
+            Map<Long, DeviceBulkItemResult> results = new HashMap<>();
+            for (List<Long> chunk : partition(ids)) {
+                Map<Long, DeviceResponse> devices = deviceRepository.findResponsesByIdForUpdate(chunk).stream()
+                        .collect(Collectors.toMap(DeviceResponse::id, Function.identity()));
+
+                List<Long> eligible = new ArrayList<>();
+                for (Long id : chunk) {
+                    results.put(id, classifyDelete(id, devices.get(id), eligible));
+                }
+                if (!eligible.isEmpty()) {
+                    int deleted = deviceRepository.deleteNotInUseByIdIn(eligible);
+                    if (deleted != eligible.size()) {
+                        log.warn("Bulk delete removed fewer rows than checked: eligible={}, deleted={}",
+                                eligible.size(), deleted);
+                    }
+                    eligible.forEach(id -> eventPublisher.publishEvent(DeviceChangedEvent.deleted(devices.get(id))));
+                }
+            }
+            return results;
+        });
+
+        DeviceBulkResponse response = DeviceBulkResponse.of(ids.stream().map(outcomes::get).toList());
+        log.info("Bulk delete finished: summary={}", response.summary());
+        return response;
+    }
+
+    private DeviceBulkItemResult classifyDelete(Long id, DeviceResponse device, List<Long> eligible) {
+        if (device == null) {
+            deviceMetrics.notFound("deleteAll");
+            return DeviceBulkItemResult.of(id, DeviceBulkItemResult.Outcome.NOT_FOUND);
+        }
+        if (device.state() == DeviceState.IN_USE) {
+            deviceMetrics.ruleViolation("deleteAll");
+            return DeviceBulkItemResult.ruleViolation(id, DeviceRules.DELETE_IN_USE);
+        }
+        eligible.add(id);
+        return DeviceBulkItemResult.of(id, DeviceBulkItemResult.Outcome.DELETED);
+    }
+
+    private DeviceBulkItemResult classifyStateChange(Long id, Device device, DeviceUpdateRequest change,
+                                                     List<Long> eligible) {
+        if (device == null) {
+            deviceMetrics.notFound("changeStates");
+            return DeviceBulkItemResult.of(id, DeviceBulkItemResult.Outcome.NOT_FOUND);
+        }
+        Optional<String> violation = DeviceRules.updateViolation(device, change);
+        if (violation.isPresent()) {
+            deviceMetrics.ruleViolation("changeStates");
+            return DeviceBulkItemResult.ruleViolation(id, violation.get());
+        }
+        if (device.getState() == change.state()) {
+            return DeviceBulkItemResult.of(id, DeviceBulkItemResult.Outcome.UNCHANGED);
+        }
+        eligible.add(id);
+        return DeviceBulkItemResult.of(id, DeviceBulkItemResult.Outcome.UPDATED);
+    }
+
+    private void publishStateChange(Device device, DeviceState state) {
+        DeviceResponse before = DeviceMapper.toResponse(device);
+        DeviceResponse after = new DeviceResponse(
+                before.id(), before.name(), before.brand(), state, before.creationTime(), before.version() + 1);
+        eventPublisher.publishEvent(DeviceChangedEvent.updated(before, after));
+    }
+
+    private List<Long> distinctIds(List<Long> ids) {
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinct.size() > batchProperties.maxItems()) {
+            throw new BatchTooLargeException(batchProperties.maxItems());
+        }
+        return distinct;
+    }
+
+    /**
+     * Split ids into chunks of {@code devicehub.batch.chunk-size} to keep IN lists bounded.
+     */
+    private List<List<Long>> partition(List<Long> ids) {
+        int size = batchProperties.chunkSize();
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + size - 1) / size);
+        for (int from = 0; from < ids.size(); from += size) {
+            chunks.add(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+        return chunks;
+    }
+
+    private List<DeviceCreateRequest> drain(Iterator<DeviceCreateRequest> requests) {
+        List<DeviceCreateRequest> items = new ArrayList<>();
+        while (requests.hasNext()) {
+            if (items.size() == batchProperties.maxItems()) {
+                throw new BatchTooLargeException(batchProperties.maxItems());
+            }
+            items.add(requests.next());
+        }
+        return items;
+    }
+
+    private String validate(DeviceCreateRequest request) {
+        if (request == null) {
+            return "Unreadable item";
+        }
+        Set<ConstraintViolation<DeviceCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Persist one chunk in its own transaction. Flushing sends the inserts as JDBC batches;
+     * clearing keeps the persistence context from growing across chunks.
+     */
+    private void persistChunk(List<DeviceCreateRequest> items, List<Integer> chunk,
+                              DeviceBatchItemResult[] results) {
+        try {
+            List<DeviceResponse> created = transactionTemplate.execute(status -> {
+                List<Device> devices = deviceRepository.saveAll(chunk.stream()
+                        .map(index -> DeviceMapper.toEntity(items.get(index)))
+                        .toList());
+                entityManager.flush();
+                entityManager.clear();
+                List<DeviceResponse> responses = devices.stream().map(DeviceMapper::toResponse).toList();
+                responses.forEach(response -> eventPublisher.publishEvent(DeviceChangedEvent.created(response)));
+                return responses;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                results[index] = DeviceBatchItemResult.created(index, created.get(i));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Bulk create chunk failed: firstIndex={}, size={}", chunk.get(0), chunk.size(), ex);
+            for (int index : chunk) {
+                results[index] = DeviceBatchItemResult.failed(index, "Chunk could not be persisted");
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.config.ChangeLogProperties;
+import com.devicehub.api.config.ReadRouting;
+import com.devicehub.api.domain.DeviceChange;
+import com.devicehub.api.dto.DeviceChangeFeed;
+import com.devicehub.api.dto.DeviceChangeResponse;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.devicehub.api.exception.ChangesExpiredException;
+import com.devicehub.api.repository.DeviceChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional outbox for device changes.
+ * Every {@link DeviceChangedEvent} is appended to {@code device_changes} inside the transaction
+ * that made the change, and consumers read the log in id order to mirror the inventory
+ * incrementally.
+ *
+ * <p>Ids are allocated before commit, so a transaction holding a lower id can commit after one
+ * holding a higher id. Reading past the lower id would skip it for good, so reads stop below the
+ * lowest id whose transaction is still open. Allocation and the read horizon share a lock, which
+ * keeps allocated ids increasing in the order readers observe them. This assumes a single
+ * application instance writes the log.
+ */
+@Service
+@Slf4j
+public class DeviceChangeLog {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final DeviceChangeRepository changeRepository;
+    private final ChangeLogProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock allocation = new ReentrantLock();
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // Guarded by allocation
+    private long lastAllocated;
+
+    // Highest id deleted by retention; -1 until read from the database
+    private final AtomicLong purgedThrough = new AtomicLong(-1);
+
+    public DeviceChangeLog(DeviceChangeRepository changeRepository,
+                           ChangeLogProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.changeRepository = changeRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Append the change to the log in the publishing transaction; if the transaction
+     * rolls back, so does the entry.
+     */
+    @EventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        DeviceChange change = toEntry(event);
+        allocation.lock();
+        try {
+            // Assigns the id from the sequence; the insert itself is flushed with the transaction
+            changeRepository.save(change);
+            lastAllocated = change.getId();
+            inFlight.add(lastAllocated);
+        } finally {
+            allocation.unlock();
+        }
+
+        Long id = change.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(id);
+                }
+            });
+        } else {
+            inFlight.remove(id);
+        }
+    }
+
+    /**
+     * Read committed changes after a position.
+     *
+     * @param since the last sequence the consumer has applied, 0 to start from the oldest retained change
+     * @param limit maximum number of changes (capped at 1000)
+     * @return the changes and the position to continue from
+     * @throws ChangesExpiredException if changes after {@code since} have been deleted by retention
+     */
+    @Transactional(readOnly = true)
+    public DeviceChangeFeed read(long since, int limit) {
+        // The horizon is only valid against the primary: a replica may not have applied
+        // entries below it yet, and the consumer would skip them
+        return ReadRouting.onPrimary(() -> readCommitted(since, limit));
+    }
+
+    private DeviceChangeFeed readCommitted(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long watermark = purgedThrough();
+        if (since > 0 && since < watermark) {
+            throw new ChangesExpiredException(since, watermark);
+        }
+
+        long horizon;
+        allocation.lock();
+        try {
+            if (lastAllocated == 0) {
+                // Nothing written since startup: every existing entry is committed,
+                // and new ids come from a fresh sequence block above them
+                Long max = changeRepository.findMaxId();
+                lastAllocated = max == null ? 0 : max;
+            }
+            horizon = inFlight.isEmpty() ? lastAllocated + 1 : inFlight.first();
+        } finally {
+            allocation.unlock();
+        }
+
+        List<DeviceChange> entries = changeRepository.findByIdGreaterThanAndIdLessThanOrderByIdAsc(
+                since, horizon, Limit.of(pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        List<DeviceChangeResponse> changes = entries.stream()
+                .limit(pageSize)
+                .map(DeviceChangeLog::toResponse)
+                .toList();
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence();
+        return new DeviceChangeFeed(changes, next, hasMore);
+    }
+
+    /**
+     * Apply retention and compaction.
+     * Retention deletes a prefix of the log, so a consumer behind it can be told reliably;
+     * compaction only deletes entries a later entry of the same device supersedes.
+     */
+    @Scheduled(fixedDelayString = "${devicehub.changes.purge-interval:PT10M}",
+            initialDelayString = "${devicehub.changes.purge-interval:PT10M}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long[] result = transactionTemplate.execute(status -> {
+            Long expired = changeRepository.findMaxIdChangedBefore(now.minus(properties.retention()));
+            int deleted = expired == null ? 0 : changeRepository.deleteUpToId(expired);
+            int compacted = changeRepository.deleteSupersededBefore(now.minus(properties.compactAfter()));
+            return new long[]{expired == null ? -1 : expired, deleted, compacted};
+        });
+
+        // Only after commit, so readers are never turned away for a purge that rolled back
+        purgedThrough();
+        purgedThrough.accumulateAndGet(result[0], Math::max);
+        log.info("Change log purged: expired={}, compacted={}, purgedThrough={}",
+                result[1], result[2], purgedThrough.get());
+    }
+
+    /**
+     * After a restart the exact retention point is unknown; everything below the oldest
+     * remaining entry is treated as purged, which may ask a consumer to resync needlessly
+     * but never lets one skip a change.
+     */
+    private long purgedThrough() {
+        long current = purgedThrough.get();
+        if (current >= 0) {
+            return current;
+        }
+        Long oldest = changeRepository.findMinId();
+        purgedThrough.compareAndSet(-1, oldest == null ? 0 : oldest - 1);
+        return purgedThrough.get();
+    }
+
+    private static DeviceChange toEntry(DeviceChangedEvent event) {
+        DeviceResponse after = event.after();
+        DeviceChange.DeviceChangeBuilder entry = DeviceChange.builder()
+                .deviceId(event.deviceId())
+                .type(event.type())
+                .changedAt(LocalDateTime.now());
+        if (after != null) {
+            entry.name(after.name())
+                    .brand(after.brand())
+                    .state(after.state())
+                    .version(after.version());
+        }
+        return entry.build();
+    }
+
+    private static DeviceChangeResponse toResponse(DeviceChange change) {
+        return new DeviceChangeResponse(
+                change.getId(),
+                change.getDeviceId(),
+                change.getType(),
+                change.getName(),
+                change.getBrand(),
+                change.getState(),
+                change.getVersion(),
+                change.getChangedAt()
+        );
+    }
+}
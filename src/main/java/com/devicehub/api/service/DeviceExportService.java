@@ -0,0 +1,56 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.metrics.DeviceMetrics;
+import com.devicehub.api.repository.DeviceRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting the full device inventory with constant memory.
+ * Devices are read through a database cursor and handed to the sink one at a time,
+ * so heap usage does not grow with the number of devices.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Timed(value = DeviceService.TIMER, description = "Device service method latency")
+public class DeviceExportService {
+
+    private final DeviceRepository deviceRepository;
+    private final EntityManager entityManager;
+    private final DeviceMetrics deviceMetrics;
+
+    /**
+     * Stream every device, in id order, to the given sink.
+     *
+     * @param sink receives each device as it is read from the database
+     * @return the number of exported devices
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<DeviceResponse> sink) {
+        log.debug("Exporting all devices");
+
+        long count = 0;
+        try (Stream<Device> devices = deviceRepository.streamAllByOrderByIdAsc()) {
+            for (Device device : (Iterable<Device>) devices::iterator) {
+                sink.accept(DeviceMapper.toResponse(device));
+                // Keep the persistence context empty so memory stays flat
+                entityManager.detach(device);
+                count++;
+            }
+        }
+
+        log.debug("Exported {} devices", count);
+        deviceMetrics.recordResultSize("exportAll", (int) Math.min(count, Integer.MAX_VALUE));
+        return count;
+    }
+}
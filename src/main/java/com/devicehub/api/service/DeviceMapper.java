@@ -0,0 +1,39 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceResponse;
+
+/**
+ * Conversions between {@link Device} entities and API DTOs, shared by the service layer.
+ */
+final class DeviceMapper {
+
+    private DeviceMapper() {
+    }
+
+    /**
+     * Convert request DTO to entity.
+     */
+    static Device toEntity(DeviceCreateRequest request) {
+        return Device.builder()
+                .name(request.name())
+                .brand(request.brand())
+                .state(request.state())
+                .build();
+    }
+
+    /**
+     * Convert entity to response DTO.
+     */
+    static DeviceResponse toResponse(Device device) {
+        return new DeviceResponse(
+                device.getId(),
+                device.getName(),
+                device.getBrand(),
+                device.getState(),
+                device.getCreationTime(),
+                device.getVersion()
+        );
+    }
+}
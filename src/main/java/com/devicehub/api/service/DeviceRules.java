@@ -0,0 +1,56 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+
+import java.util.Optional;
+
+/**
+ * Business rules for device modifications, shared by single-item and bulk operations.
+ */
+final class DeviceRules {
+
+    static final String DELETE_IN_USE = "Cannot delete device with state IN_USE";
+
+    private DeviceRules() {
+    }
+
+    /**
+     * Check whether an update may be applied to a device.
+     * Uses pattern matching for cleaner state validation.
+     *
+     * @param existingDevice the current device
+     * @param request the requested changes, null fields are left untouched
+     * @return the violated rule, or empty if the update is allowed
+     */
+    static Optional<String> updateViolation(Device existingDevice, DeviceUpdateRequest request) {
+        return updateViolation(existingDevice.getState(), existingDevice.getName(), existingDevice.getBrand(), request);
+    }
+
+    /**
+     * Check whether an update may be applied to a device in the given state.
+     *
+     * @param state the current state
+     * @param name the current name
+     * @param brand the current brand
+     * @param request the requested changes, null fields are left untouched
+     * @return the violated rule, or empty if the update is allowed
+     */
+    static Optional<String> updateViolation(DeviceState state, String name, String brand, DeviceUpdateRequest request) {
+        return switch (state) {
+            case IN_USE -> {
+                boolean nameChanged = request.name() != null &&
+                        !request.name().equals(name);
+                boolean brandChanged = request.brand() != null &&
+                        !request.brand().equals(brand);
+
+                yield nameChanged || brandChanged
+                        ? Optional.of("Cannot update name or brand when device state is IN_USE")
+                        : Optional.empty();
+            }
+            // No restrictions for these states
+            case AVAILABLE, INACTIVE -> Optional.empty();
+        };
+    }
+}
@@ -1,30 +1,64 @@
 package com.devicehub.api.service;
 
+import com.devicehub.api.cache.DeviceCache;
+import com.devicehub.api.cache.DeviceListCoalescer;
+import com.devicehub.api.config.ReadRouting;
 import com.devicehub.api.domain.Device;
 import com.devicehub.api.domain.DeviceState;
 import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DevicePage;
 import com.devicehub.api.dto.DeviceResponse;
 import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceChangedEvent;
 import com.devicehub.api.exception.BusinessRuleViolationException;
 import com.devicehub.api.exception.DeviceNotFoundException;
+import com.devicehub.api.exception.PreconditionFailedException;
+import com.devicehub.api.metrics.DeviceMetrics;
 import com.devicehub.api.repository.DeviceRepository;
+import com.devicehub.api.repository.DeviceSpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Service layer for device management operations.
- * Handles business logic and DTO transformations.
+ * Handles business logic and DTO transformations, and publishes a
+ * {@link DeviceChangedEvent} for every mutation.
+ * Concurrent identical reads by id, brand, state or page share one database call; those
+ * methods run without a service transaction so that waiting callers hold no connection.
+ * Every public method is timed as {@code devicehub.service}. Requests are logged once by the
+ * access log and failures by the exception handler, so this class only logs at DEBUG.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = DeviceService.TIMER, description = "Device service method latency")
 public class DeviceService {
 
+    /**
+     * Timer recorded for every public service method, tagged with {@code class} and {@code method}.
+     */
+    public static final String TIMER = "devicehub.service";
+
+    /**
+     * Upper bound for a single page; larger requested limits are capped.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final DeviceRepository deviceRepository;
+    private final DeviceCache deviceCache;
+    private final DeviceListCoalescer listCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeviceMetrics deviceMetrics;
 
     /**
      * Create a new device.
@@ -34,33 +68,31 @@ public class DeviceService {
      */
     @Transactional
     public DeviceResponse create(DeviceCreateRequest request) {
-        log.info("Creating device: name={}, brand={}, state={}",
-                request.name(), request.brand(), request.state());
-
-        Device device = toEntity(request);
+        Device device = DeviceMapper.toEntity(request);
         Device savedDevice = deviceRepository.save(device);
 
-        log.info("Device created successfully: id={}", savedDevice.getId());
-        return toResponse(savedDevice);
+        log.debug("Device created: id={}", savedDevice.getId());
+        DeviceResponse response = DeviceMapper.toResponse(savedDevice);
+        eventPublisher.publishEvent(DeviceChangedEvent.created(response));
+        return response;
     }
 
     /**
      * Find a device by ID.
+     * Served from the device cache; only misses reach the repository, in its own
+     * read-only transaction, so cache hits never borrow a database connection.
      *
      * @param id the device ID
      * @return the device response
      * @throws DeviceNotFoundException if device not found
      */
-    @Transactional(readOnly = true)
     public DeviceResponse findById(Long id) {
         log.debug("Finding device by id={}", id);
 
-        return deviceRepository.findById(id)
-                .map(this::toResponse)
-                .orElseThrow(() -> {
-                    log.warn("Device not found: id={}", id);
-                    return new DeviceNotFoundException(id);
-                });
+        // Loaded from the primary: a stale replica read right after an invalidation
+        // would stay cached until the entry expires
+        return deviceCache.get(id, key -> ReadRouting.onPrimary(() -> deviceRepository.findResponseById(key))
+                .orElseThrow(() -> notFound(key, "findById")));
     }
 
     /**
@@ -72,9 +104,7 @@ public DeviceResponse findById(Long id) {
     public List<DeviceResponse> findAll() {
         log.debug("Finding all devices");
 
-        return deviceRepository.findAll().stream()
-                .map(this::toResponse)
-                .toList();
+        return recordSize(deviceRepository.findAllResponses(), "findAll");
     }
 
     /**
@@ -83,13 +113,11 @@ public List<DeviceResponse> findAll() {
      * @param brand the brand to filter by
      * @return list of devices matching the brand
      */
-    @Transactional(readOnly = true)
     public List<DeviceResponse> findByBrand(String brand) {
         log.debug("Finding devices by brand={}", brand);
 
-        return deviceRepository.findByBrandIgnoreCase(brand).stream()
-                .map(this::toResponse)
-                .toList();
+        return recordSize(listCoalescer.byBrand(brand, () -> deviceRepository.findResponsesByBrand(brand)),
+                "findByBrand");
     }
 
     /**
@@ -98,13 +126,32 @@ public List<DeviceResponse> findByBrand(String brand) {
      * @param state the state to filter by
      * @return list of devices in the specified state
      */
-    @Transactional(readOnly = true)
     public List<DeviceResponse> findByState(DeviceState state) {
         log.debug("Finding devices by state={}", state);
 
-        return deviceRepository.findByState(state).stream()
-                .map(this::toResponse)
-                .toList();
+        return recordSize(listCoalescer.byState(state, () -> deviceRepository.findResponsesByState(state)),
+                "findByState");
+    }
+
+    /**
+     * Find one page of devices in ascending id order using keyset pagination.
+     * All filter criteria and the keyset predicate are combined into a single query,
+     * so the database returns only matching rows and at most one page of them.
+     *
+     * @param filter the filter criteria, null fields are ignored
+     * @param cursor opaque cursor from a previous page, null for the first page
+     * @param limit requested page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page with a cursor for the next one, if any
+     * @throws com.devicehub.api.exception.InvalidCursorException if the cursor is malformed
+     */
+    public DevicePage findPage(DeviceFilter filter, String cursor, int limit) {
+        long afterId = CursorCodec.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        log.debug("Finding device page: filter={}, afterId={}, limit={}", filter, afterId, pageSize);
+
+        DevicePage page = listCoalescer.page(filter, afterId, pageSize, () -> loadPage(filter, afterId, pageSize));
+        deviceMetrics.recordResultSize("findPage", page.items().size());
+        return page;
     }
 
     /**
@@ -118,25 +165,42 @@ public List<DeviceResponse> findByState(DeviceState state) {
      */
     @Transactional
     public DeviceResponse update(Long id, DeviceUpdateRequest request) {
-        log.info("Updating device: id={}", id);
+        return update(id, request, null);
+    }
 
+    /**
+     * Full update of a device, conditional on its current version.
+     *
+     * @param id the device ID
+     * @param request the update request with all fields
+     * @param expectedVersions versions the device must be at (from If-Match), or null for an unconditional update
+     * @return the updated device response with its new version
+     * @throws DeviceNotFoundException if device not found
+     * @throws PreconditionFailedException if the device is not at one of the expected versions
+     * @throws BusinessRuleViolationException if update violates business rules
+     * @throws org.springframework.dao.OptimisticLockingFailureException if a concurrent update committed first
+     */
+    @Transactional
+    public DeviceResponse update(Long id, DeviceUpdateRequest request, Collection<Long> expectedVersions) {
         Device existingDevice = deviceRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Device not found: id={}", id);
-                    return new DeviceNotFoundException(id);
-                });
+                .orElseThrow(() -> notFound(id, "update"));
 
-        validateUpdateAllowed(existingDevice, request);
+        checkVersion(existingDevice, expectedVersions);
+        validateUpdateAllowed(existingDevice, request, "update");
+        DeviceResponse before = DeviceMapper.toResponse(existingDevice);
 
         // Update all fields (creationTime is immutable in entity)
         existingDevice.setName(request.name());
         existingDevice.setBrand(request.brand());
         existingDevice.setState(request.state());
 
-        Device savedDevice = deviceRepository.save(existingDevice);
-        log.info("Device updated successfully: id={}", id);
+        // Flush so the response carries the incremented version
+        Device savedDevice = deviceRepository.saveAndFlush(existingDevice);
+        log.debug("Device updated: id={}, version={}", id, savedDevice.getVersion());
 
-        return toResponse(savedDevice);
+        DeviceResponse response = DeviceMapper.toResponse(savedDevice);
+        eventPublisher.publishEvent(DeviceChangedEvent.updated(before, response));
+        return response;
     }
 
     /**
@@ -150,15 +214,29 @@ public DeviceResponse update(Long id, DeviceUpdateRequest request) {
      */
     @Transactional
     public DeviceResponse partialUpdate(Long id, DeviceUpdateRequest request) {
-        log.info("Partially updating device: id={}", id);
+        return partialUpdate(id, request, null);
+    }
 
+    /**
+     * Partial update of a device (PATCH), conditional on its current version.
+     *
+     * @param id the device ID
+     * @param request the update request with optional fields
+     * @param expectedVersions versions the device must be at (from If-Match), or null for an unconditional update
+     * @return the updated device response with its new version
+     * @throws DeviceNotFoundException if device not found
+     * @throws PreconditionFailedException if the device is not at one of the expected versions
+     * @throws BusinessRuleViolationException if update violates business rules
+     * @throws org.springframework.dao.OptimisticLockingFailureException if a concurrent update committed first
+     */
+    @Transactional
+    public DeviceResponse partialUpdate(Long id, DeviceUpdateRequest request, Collection<Long> expectedVersions) {
         Device existingDevice = deviceRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Device not found: id={}", id);
-                    return new DeviceNotFoundException(id);
-                });
+                .orElseThrow(() -> notFound(id, "partialUpdate"));
 
-        validateUpdateAllowed(existingDevice, request);
+        checkVersion(existingDevice, expectedVersions);
+        validateUpdateAllowed(existingDevice, request, "partialUpdate");
+        DeviceResponse before = DeviceMapper.toResponse(existingDevice);
 
         // Update only provided fields
         if (request.name() != null) {
@@ -171,10 +249,13 @@ public DeviceResponse partialUpdate(Long id, DeviceUpdateRequest request) {
             existingDevice.setState(request.state());
         }
 
-        Device savedDevice = deviceRepository.save(existingDevice);
-        log.info("Device partially updated successfully: id={}", id);
+        // Flush so the response carries the incremented version
+        Device savedDevice = deviceRepository.saveAndFlush(existingDevice);
+        log.debug("Device partially updated: id={}, version={}", id, savedDevice.getVersion());
 
-        return toResponse(savedDevice);
+        DeviceResponse response = DeviceMapper.toResponse(savedDevice);
+        eventPublisher.publishEvent(DeviceChangedEvent.updated(before, response));
+        return response;
     }
 
     /**
@@ -186,72 +267,90 @@ public DeviceResponse partialUpdate(Long id, DeviceUpdateRequest request) {
      */
     @Transactional
     public void delete(Long id) {
-        log.info("Deleting device: id={}", id);
+        delete(id, null);
+    }
 
+    /**
+     * Delete a device by ID, conditional on its current version.
+     *
+     * @param id the device ID
+     * @param expectedVersions versions the device must be at (from If-Match), or null for an unconditional delete
+     * @throws DeviceNotFoundException if device not found
+     * @throws PreconditionFailedException if the device is not at one of the expected versions
+     * @throws BusinessRuleViolationException if device is IN_USE
+     */
+    @Transactional
+    public void delete(Long id, Collection<Long> expectedVersions) {
         Device device = deviceRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Device not found: id={}", id);
-                    return new DeviceNotFoundException(id);
-                });
+                .orElseThrow(() -> notFound(id, "delete"));
+        checkVersion(device, expectedVersions);
 
         if (device.getState() == DeviceState.IN_USE) {
-            log.warn("Delete blocked: cannot delete IN_USE device: id={}, state={}",
+            log.debug("Delete blocked: cannot delete IN_USE device: id={}, state={}",
                     device.getId(), device.getState());
-            throw new BusinessRuleViolationException(
-                    "Cannot delete device with state IN_USE");
+            deviceMetrics.ruleViolation("delete");
+            throw new BusinessRuleViolationException(DeviceRules.DELETE_IN_USE);
         }
 
         deviceRepository.delete(device);
-        log.info("Device deleted successfully: id={}", id);
+        eventPublisher.publishEvent(DeviceChangedEvent.deleted(DeviceMapper.toResponse(device)));
+        log.debug("Device deleted: id={}", id);
     }
 
     /**
-     * Validate if update is allowed based on business rules.
-     * Uses pattern matching for cleaner state validation.
+     * Run the page query. The inherited {@code findBy} reads in its own read-only transaction;
+     * the loaded entities are detached afterwards but only their columns are mapped.
      */
-    private void validateUpdateAllowed(Device existingDevice, DeviceUpdateRequest request) {
-        // Use pattern matching switch for state-based validation
-        switch (existingDevice.getState()) {
-            case IN_USE -> {
-                boolean nameChanged = request.name() != null &&
-                        !request.name().equals(existingDevice.getName());
-                boolean brandChanged = request.brand() != null &&
-                        !request.brand().equals(existingDevice.getBrand());
-
-                if (nameChanged || brandChanged) {
-                    log.warn("Update blocked: cannot modify name/brand for IN_USE device: id={}, state={}",
-                            existingDevice.getId(), existingDevice.getState());
-                    throw new BusinessRuleViolationException(
-                            "Cannot update name or brand when device state is IN_USE");
-                }
-            }
-            case AVAILABLE, INACTIVE -> {
-                // No restrictions for these states
-            }
-        }
+    private DevicePage loadPage(DeviceFilter filter, long afterId, int pageSize) {
+        Specification<Device> spec = DeviceSpecifications.matching(filter)
+                .and(DeviceSpecifications.idGreaterThan(afterId));
+        // Fetch one extra row to learn whether another page exists
+        List<Device> devices = deviceRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = devices.size() > pageSize;
+        List<DeviceResponse> items = devices.stream()
+                .limit(pageSize)
+                .map(DeviceMapper::toResponse)
+                .toList();
+        String nextCursor = hasNext ? CursorCodec.encode(items.get(items.size() - 1).id()) : null;
+        return new DevicePage(items, nextCursor);
     }
 
     /**
-     * Convert request DTO to entity.
+     * Validate if update is allowed based on business rules.
      */
-    private Device toEntity(DeviceCreateRequest request) {
-        return Device.builder()
-                .name(request.name())
-                .brand(request.brand())
-                .state(request.state())
-                .build();
+    private void validateUpdateAllowed(Device existingDevice, DeviceUpdateRequest request, String operation) {
+        DeviceRules.updateViolation(existingDevice, request).ifPresent(violation -> {
+            log.debug("Update blocked: {}: id={}, state={}",
+                    violation, existingDevice.getId(), existingDevice.getState());
+            deviceMetrics.ruleViolation(operation);
+            throw new BusinessRuleViolationException(violation);
+        });
     }
 
     /**
-     * Convert entity to response DTO.
+     * Enforce an If-Match precondition. The version read here is also the one Hibernate
+     * checks when flushing, so a concurrent commit in between still fails the write.
      */
-    private DeviceResponse toResponse(Device device) {
-        return new DeviceResponse(
-                device.getId(),
-                device.getName(),
-                device.getBrand(),
-                device.getState(),
-                device.getCreationTime()
-        );
+    private void checkVersion(Device device, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(device.getVersion())) {
+            log.debug("Precondition failed: id={}, version={}, expected={}",
+                    device.getId(), device.getVersion(), expectedVersions);
+            throw new PreconditionFailedException(device.getId(), device.getVersion());
+        }
+    }
+
+    private DeviceNotFoundException notFound(Long id, String operation) {
+        log.debug("Device not found: id={}", id);
+        deviceMetrics.notFound(operation);
+        return new DeviceNotFoundException(id);
+    }
+
+    private List<DeviceResponse> recordSize(List<DeviceResponse> devices, String operation) {
+        deviceMetrics.recordResultSize(operation, devices.size());
+        return devices;
     }
 }
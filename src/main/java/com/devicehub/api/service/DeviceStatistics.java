@@ -0,0 +1,224 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.config.ReadRouting;
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStats;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.devicehub.api.repository.DeviceCount;
+import com.devicehub.api.repository.DeviceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Device counts by state and brand, kept in memory so reads never touch the database.
+ *
+ * <p>Counts are seeded with one grouped query at startup and adjusted by every committed
+ * {@link DeviceChangedEvent}. A periodic reconciliation re-runs the query to repair any drift
+ * (e.g. rows changed outside the application). Its result is only installed if no change was
+ * pending or applied while it ran; otherwise the counts could include a change twice or miss it,
+ * and the reconciliation is retried.
+ */
+@Service
+@Slf4j
+public class DeviceStatistics {
+
+    private static final int RECONCILE_ATTEMPTS = 5;
+    private static final long RECONCILE_BACKOFF_MILLIS = 200;
+
+    private final DeviceRepository deviceRepository;
+
+    // Changes apply under the read lock (counters are atomic); installing new counts takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private volatile Counts counts;
+
+    public DeviceStatistics(DeviceRepository deviceRepository) {
+        this.deviceRepository = deviceRepository;
+        // Runs before the web server accepts requests, so nothing can change concurrently
+        this.counts = Counts.of(countFromPrimary(), null);
+        log.info("Device statistics seeded: total={}", counts.total());
+    }
+
+    /**
+     * Current counts. Cost depends on the number of states and brands, not on the number of devices.
+     *
+     * @return counts by state and by brand
+     */
+    public DeviceStats snapshot() {
+        return counts.toStats();
+    }
+
+    /**
+     * Apply the change once its transaction commits; rolled back changes are ignored.
+     */
+    @EventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace the counts with a fresh grouped query, retrying while writes are in progress.
+     *
+     * @return true if the counts were replaced
+     */
+    @Scheduled(fixedDelayString = "${devicehub.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${devicehub.stats.reconcile-interval:PT5M}")
+    public boolean reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                return true;
+            }
+            try {
+                Thread.sleep(RECONCILE_BACKOFF_MILLIS * attempt);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        log.info("Device statistics reconciliation skipped: writes kept overlapping, attempts={}", RECONCILE_ATTEMPTS);
+        return false;
+    }
+
+    private boolean tryReconcile() {
+        long appliedBefore = applied.get();
+        if (pending.get() != 0) {
+            return false;
+        }
+        Counts fresh = Counts.of(countFromPrimary(), counts);
+
+        lock.writeLock().lock();
+        try {
+            if (pending.get() != 0 || applied.get() != appliedBefore) {
+                return false;
+            }
+            DeviceStats previous = counts.toStats();
+            counts = fresh;
+            DeviceStats current = fresh.toStats();
+            if (!previous.equals(current)) {
+                log.warn("Device statistics drifted and were corrected: was={}, now={}", previous, current);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts must match the changes applied so far, which a lagging replica cannot guarantee.
+     */
+    private List<DeviceCount> countFromPrimary() {
+        return ReadRouting.onPrimary(deviceRepository::countByStateAndBrand);
+    }
+
+    private void apply(DeviceChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            Counts current = counts;
+            if (event.before() != null) {
+                current.add(event.before(), -1);
+            }
+            if (event.after() != null) {
+                current.add(event.after(), 1);
+            }
+            applied.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One set of counters. The maps' key sets only grow, so readers never need the lock.
+     */
+    private static final class Counts {
+
+        private final Map<DeviceState, AtomicLong> byState = new EnumMap<>(DeviceState.class);
+        private final Map<String, BrandCount> byBrand = new ConcurrentHashMap<>();
+
+        private Counts() {
+            for (DeviceState state : DeviceState.values()) {
+                byState.put(state, new AtomicLong());
+            }
+        }
+
+        /**
+         * Build counts from grouped rows. Brands already known keep the spelling shown so far,
+         * so a reconciliation does not rename them.
+         */
+        static Counts of(List<DeviceCount> rows, Counts previous) {
+            Counts counts = new Counts();
+            for (DeviceCount row : rows) {
+                BrandCount known = previous == null ? null : previous.byBrand.get(row.brandKey());
+                counts.byState.get(row.state()).addAndGet(row.count());
+                counts.brand(row.brandKey(), known == null ? row.brand() : known.name).count.addAndGet(row.count());
+            }
+            return counts;
+        }
+
+        void add(DeviceResponse device, long delta) {
+            byState.get(device.state()).addAndGet(delta);
+            brand(Device.normalizeBrand(device.brand()), device.brand()).count.addAndGet(delta);
+        }
+
+        long total() {
+            return byState.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        DeviceStats toStats() {
+            Map<DeviceState, Long> states = new EnumMap<>(DeviceState.class);
+            byState.forEach((state, count) -> states.put(state, count.get()));
+            Map<String, Long> brands = new TreeMap<>();
+            byBrand.values().forEach(brand -> {
+                long count = brand.count.get();
+                if (count > 0) {
+                    brands.merge(brand.name, count, Long::sum);
+                }
+            });
+            return new DeviceStats(total(), states, brands);
+        }
+
+        private BrandCount brand(String key, String name) {
+            return byBrand.computeIfAbsent(key, k -> new BrandCount(name));
+        }
+    }
+
+    private static final class BrandCount {
+
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+
+        private BrandCount(String name) {
+            this.name = name;
+        }
+    }
+}
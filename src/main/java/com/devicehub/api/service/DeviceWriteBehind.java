@@ -0,0 +1,445 @@
+package com.devicehub.api.service;
+
+import com.devicehub.api.config.WriteBehindProperties;
+import com.devicehub.api.domain.Device;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.devicehub.api.exception.BusinessRuleViolationException;
+import com.devicehub.api.exception.DeviceNotFoundException;
+import com.devicehub.api.exception.WriteQueueFullException;
+import com.devicehub.api.metrics.DeviceMetrics;
+import com.devicehub.api.repository.DeviceRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind batching of partial updates, enabled with {@code devicehub.write-behind.enabled}.
+ *
+ * <p>An accepted update is checked against the update rules, applied after the updates already
+ * queued for its device, and queued under its device id, so a device contributes one row to a
+ * batch however often it was patched. A single writer thread flushes the queue once
+ * {@code max-batch} devices are pending or the oldest update has waited {@code flush-interval}:
+ * one transaction locks the batch's rows, replays each device's updates against its row in the
+ * order they were accepted, checking each against the same state it was checked against when
+ * queued, and writes every device with JDBC-batched statements. An update that no longer passes
+ * fails on its own without affecting the others. If the transaction fails, the updates are
+ * retried one transaction each.
+ *
+ * <p>With {@code durability=commit} the caller waits for the commit of its batch and receives
+ * the updated device; with {@code durability=queued} it is answered as soon as the update is
+ * queued, and updates still queued when the process dies are lost. The queue holds updates for
+ * at most {@code capacity} devices; beyond that new devices are rejected with
+ * {@link WriteQueueFullException} until the writer catches up.
+ */
+@Service
+@Slf4j
+public class DeviceWriteBehind {
+
+    public static final String UPDATES = "devicehub.writebehind.updates";
+    public static final String PENDING = "devicehub.writebehind.pending";
+    public static final String BATCH_SIZE = "devicehub.writebehind.batch.size";
+
+    private static final String OPERATION = "partialUpdate";
+
+    private final DeviceService deviceService;
+    private final DeviceRepository deviceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeviceMetrics deviceMetrics;
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Guarded by lock; iteration order is queueing order, so the first entry is the oldest
+    private final LinkedHashMap<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private boolean running;
+    private Thread writer;
+
+    public DeviceWriteBehind(DeviceService deviceService,
+                             DeviceRepository deviceRepository,
+                             PlatformTransactionManager transactionManager,
+                             WriteBehindProperties properties,
+                             ApplicationEventPublisher eventPublisher,
+                             DeviceMetrics deviceMetrics,
+                             MeterRegistry meterRegistry) {
+        this.deviceService = deviceService;
+        this.deviceRepository = deviceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.deviceMetrics = deviceMetrics;
+        this.queued = updates(meterRegistry, "queued");
+        this.coalesced = updates(meterRegistry, "coalesced");
+        this.rejected = updates(meterRegistry, "rejected");
+        this.failed = updates(meterRegistry, "failed");
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+                .description("Devices written per write-behind transaction")
+                .baseUnit("devices")
+                .register(meterRegistry);
+        Gauge.builder(PENDING, this, DeviceWriteBehind::pendingDevices)
+                .description("Devices with queued updates")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofVirtual().name("device-write-behind").start(this::run);
+        log.info("Write-behind enabled: maxBatch={}, flushInterval={}, capacity={}, durability={}",
+                properties.maxBatch(), properties.flushInterval(), properties.capacity(), properties.durability());
+    }
+
+    /**
+     * Stop queueing and write everything already queued before the data source closes.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Whether partial updates should be submitted here rather than written directly.
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Queue a partial update of a device.
+     *
+     * @param id the device ID
+     * @param request the update request with optional fields
+     * @return the updated device once its batch committed, or empty with {@code durability=queued}
+     * @throws DeviceNotFoundException if device not found
+     * @throws BusinessRuleViolationException if the update, applied after the ones already queued, violates business rules
+     * @throws WriteQueueFullException if updates for {@code devicehub.write-behind.capacity} devices are already queued
+     */
+    @Timed(value = DeviceService.TIMER, description = "Device service method latency")
+    public Optional<DeviceResponse> submit(Long id, DeviceUpdateRequest request) {
+        DeviceResponse current = deviceService.findById(id);
+
+        Submission submission;
+        lock.lock();
+        try {
+            if (!running) {
+                submission = null;
+            } else {
+                submission = enqueue(id, request, current);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (submission == null) {
+            // Shutting down: the writer no longer drains the queue
+            return Optional.of(deviceService.partialUpdate(id, request));
+        }
+
+        log.debug("Partial update queued: id={}", id);
+        if (properties.durability() == WriteBehindProperties.Durability.QUEUED) {
+            return Optional.empty();
+        }
+        return Optional.of(await(submission.committed()));
+    }
+
+    /**
+     * Add the update to the ones queued for the device, or queue it. Called with the lock held.
+     */
+    private Submission enqueue(Long id, DeviceUpdateRequest request, DeviceResponse current) {
+        PendingUpdate update = pending.get(id);
+        validate(current, update, request);
+        if (update == null) {
+            if (pending.size() >= properties.capacity()) {
+                rejected.increment();
+                throw new WriteQueueFullException(properties.capacity());
+            }
+            update = new PendingUpdate(id, System.nanoTime());
+            pending.put(id, update);
+            queued.increment();
+            if (pending.size() == 1 || pending.size() >= properties.maxBatch()) {
+                changed.signal();
+            }
+        } else {
+            coalesced.increment();
+        }
+        return update.add(request);
+    }
+
+    /**
+     * Check the update against the device as it will be once the updates already queued are written.
+     * The writer repeats the check against the locked row, after replaying the same queued updates.
+     */
+    private void validate(DeviceResponse current, PendingUpdate queuedUpdate, DeviceUpdateRequest request) {
+        DeviceState state = current.state();
+        String name = current.name();
+        String brand = current.brand();
+        if (queuedUpdate != null) {
+            state = queuedUpdate.state != null ? queuedUpdate.state : state;
+            name = queuedUpdate.name != null ? queuedUpdate.name : name;
+            brand = queuedUpdate.brand != null ? queuedUpdate.brand : brand;
+        }
+        Optional<String> violation = DeviceRules.updateViolation(state, name, brand, request);
+        if (violation.isPresent()) {
+            log.debug("Update blocked: {}: id={}, state={}", violation.get(), current.id(), state);
+            deviceMetrics.ruleViolation(OPERATION);
+            throw new BusinessRuleViolationException(violation.get());
+        }
+    }
+
+    private void run() {
+        try {
+            List<PendingUpdate> batch;
+            while ((batch = nextBatch()) != null) {
+                write(batch);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Write-behind writer stopped");
+    }
+
+    /**
+     * Wait until a batch is due and take it from the queue; after {@link #stop()} the rest of the
+     * queue is taken without waiting. Returns null once stopped and empty.
+     */
+    private List<PendingUpdate> nextBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && pending.isEmpty()) {
+                changed.await();
+            }
+            if (pending.isEmpty()) {
+                return null;
+            }
+            long due = pending.values().iterator().next().queuedAt + properties.flushInterval().toNanos();
+            long remaining;
+            while (running && pending.size() < properties.maxBatch() && (remaining = due - System.nanoTime()) > 0) {
+                changed.awaitNanos(remaining);
+            }
+
+            List<PendingUpdate> batch = new ArrayList<>(Math.min(pending.size(), properties.maxBatch()));
+            Iterator<PendingUpdate> updates = pending.values().iterator();
+            while (updates.hasNext() && batch.size() < properties.maxBatch()) {
+                batch.add(updates.next());
+                updates.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write one batch in a single transaction, falling back to one transaction per update if it fails.
+     */
+    private void write(List<PendingUpdate> batch) {
+        batchSize.record(batch.size());
+        Map<Submission, Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> apply(batch));
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind batch failed, writing its updates one by one: size={}, cause={}",
+                    batch.size(), ex.toString());
+            batch.forEach(this::writeAlone);
+            return;
+        }
+
+        for (PendingUpdate update : batch) {
+            for (Submission submission : update.submissions) {
+                Object outcome = outcomes.get(submission);
+                if (outcome instanceof DeviceResponse response) {
+                    submission.committed().complete(response);
+                } else {
+                    fail(update.id, submission, (RuntimeException) outcome);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply a batch to its locked rows. Returns the updated device, or the exception to report, per submission.
+     */
+    private Map<Submission, Object> apply(List<PendingUpdate> batch) {
+        Map<Long, Device> devices = deviceRepository.findAllByIdForUpdate(
+                        batch.stream().map(update -> update.id).toList()).stream()
+                .collect(Collectors.toMap(Device::getId, Function.identity()));
+
+        Map<Submission, Object> outcomes = new HashMap<>();
+        Map<Long, DeviceResponse> before = new HashMap<>();
+        Map<Long, List<Submission>> applied = new HashMap<>();
+        for (PendingUpdate update : batch) {
+            Device device = devices.get(update.id);
+            if (device == null) {
+                deviceMetrics.notFound(OPERATION);
+                DeviceNotFoundException notFound = new DeviceNotFoundException(update.id);
+                update.submissions.forEach(submission -> outcomes.put(submission, notFound));
+                continue;
+            }
+            DeviceResponse previous = DeviceMapper.toResponse(device);
+            List<Submission> accepted = new ArrayList<>(update.submissions.size());
+            // In acceptance order, so each update meets the state it was validated against
+            for (Submission submission : update.submissions) {
+                DeviceUpdateRequest request = submission.request();
+                Optional<String> violation = DeviceRules.updateViolation(device, request);
+                if (violation.isPresent()) {
+                    deviceMetrics.ruleViolation(OPERATION);
+                    outcomes.put(submission, new BusinessRuleViolationException(violation.get()));
+                    continue;
+                }
+                if (request.name() != null) {
+                    device.setName(request.name());
+                }
+                if (request.brand() != null) {
+                    device.setBrand(request.brand());
+                }
+                if (request.state() != null) {
+                    device.setState(request.state());
+                }
+                accepted.add(submission);
+            }
+            if (!accepted.isEmpty()) {
+                before.put(update.id, previous);
+                applied.put(update.id, accepted);
+            }
+        }
+
+        // One JDBC-batched flush for the whole batch; responses then carry the incremented versions
+        deviceRepository.flush();
+        before.forEach((id, previous) -> {
+            DeviceResponse response = DeviceMapper.toResponse(devices.get(id));
+            eventPublisher.publishEvent(DeviceChangedEvent.updated(previous, response));
+            applied.get(id).forEach(submission -> outcomes.put(submission, response));
+        });
+        return outcomes;
+    }
+
+    private void writeAlone(PendingUpdate update) {
+        for (Submission submission : update.submissions) {
+            try {
+                submission.committed().complete(deviceService.partialUpdate(update.id, submission.request()));
+            } catch (RuntimeException ex) {
+                fail(update.id, submission, ex);
+            }
+        }
+    }
+
+    private void fail(Long id, Submission submission, RuntimeException cause) {
+        failed.increment();
+        if (properties.durability() == WriteBehindProperties.Durability.QUEUED) {
+            // Nobody waits for the outcome, so this is the only trace of the lost update
+            log.warn("Queued update not applied: id={}, cause={}", id, cause.toString());
+        }
+        submission.committed().completeExceptionally(cause);
+    }
+
+    private double pendingDevices() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static DeviceResponse await(CompletableFuture<DeviceResponse> committed) {
+        try {
+            return committed.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter updates(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(UPDATES)
+                .description("Partial updates through the write-behind queue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One accepted update and the future its caller waits on.
+     */
+    private record Submission(DeviceUpdateRequest request, CompletableFuture<DeviceResponse> committed) {
+    }
+
+    /**
+     * The updates queued for one device, in the order they were accepted, and the fields they set
+     * together, against which the next update is validated. Fields are guarded by the queue lock
+     * until the writer takes the update from the queue, and are not modified afterwards.
+     */
+    private static final class PendingUpdate {
+
+        private final Long id;
+        private final long queuedAt;
+        private final List<Submission> submissions = new ArrayList<>(1);
+        private String name;
+        private String brand;
+        private DeviceState state;
+
+        private PendingUpdate(Long id, long queuedAt) {
+            this.id = id;
+            this.queuedAt = queuedAt;
+        }
+
+        private Submission add(DeviceUpdateRequest request) {
+            if (request.name() != null) {
+                name = request.name();
+            }
+            if (request.brand() != null) {
+                brand = request.brand();
+            }
+            if (request.state() != null) {
+                state = request.state();
+            }
+            Submission submission = new Submission(request, new CompletableFuture<>());
+            submissions.add(submission);
+            return submission;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.devicehub.api.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records a child span of the current trace for every controller, service and repository call,
+ * named {@code <Type>.<method>} and tagged with its {@value #LAYER_TAG}. Together with the HTTP
+ * server span this splits a slow request into handler, business logic and database time.
+ *
+ * <p>Only spans, no metrics: the layers are already timed by {@code http.server.requests},
+ * {@code devicehub.service} and {@code spring.data.repository.invocations}. Calls outside a
+ * sampled trace run without creating a span.
+ */
+@Aspect
+public class LayerTracingAspect {
+
+    public static final String LAYER_TAG = "devicehub.layer";
+
+    private final Tracer tracer;
+
+    public LayerTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.devicehub.api.controller..*) "
+            + "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("within(com.devicehub.api.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // The target is the Spring Data proxy; its first interface is the declared repository
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getTarget());
+        return trace(joinPoint, "repository", interfaces[0]);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        Span span = tracer.nextSpan();
+        if (span.isNoop()) {
+            return joinPoint.proceed();
+        }
+
+        span.name(type.getSimpleName() + "." + joinPoint.getSignature().getName())
+                .tag(LAYER_TAG, layer)
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.devicehub.api.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Runs executor tasks with the MDC and the observation (current span) of the thread that
+ * submitted them, so work a request hands off, such as a streamed export body, is logged with the
+ * request id and recorded in the request's trace. The task thread's own MDC is restored afterwards.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    private final TaskDecorator contextPropagation = new ContextPropagatingTaskDecorator();
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Runnable propagated = contextPropagation.decorate(runnable);
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return propagated;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                propagated.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.devicehub.api.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an id and puts it into the MDC as {@value #MDC_KEY} for the rest of the request.
+ *
+ * <p>A well-formed {@value #HEADER} from the caller is kept; otherwise the id is the trace id of
+ * the request's server span, so log lines and spans of one request share an id, or a random one
+ * when the request is not traced. The id is echoed in {@value #HEADER}, and the server span in
+ * {@value #TRACE_RESPONSE_HEADER} (W3C Trace Context Level 2), so a caller can look up the trace
+ * of a slow response. Incoming {@code traceparent} headers are honoured by the HTTP server
+ * observation, which runs before this filter and opens the span.
+ *
+ * <p>Each request runs on its own (virtual) thread, so a thread-local MDC entry set here covers
+ * the request; {@link MdcTaskDecorator} carries it to executor tasks started by the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+    public static final String TRACE_RESPONSE_HEADER = "traceresponse";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public RequestIdFilter(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TraceContext trace = currentTrace();
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = trace != null ? trace.traceId() : randomId();
+        }
+
+        response.setHeader(HEADER, requestId);
+        if (trace != null) {
+            response.setHeader(TRACE_RESPONSE_HEADER, "00-" + trace.traceId() + "-" + trace.spanId()
+                    + (Boolean.TRUE.equals(trace.sampled()) ? "-01" : "-00"));
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private TraceContext currentTrace() {
+        Tracer current = tracer.getIfAvailable();
+        Span span = current != null ? current.currentSpan() : null;
+        return span != null && !span.isNoop() ? span.context() : null;
+    }
+
+    private static String randomId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,16 @@
+-- Baseline schema. Written to be a no-op on databases previously managed by
+-- Hibernate ddl-auto, which already contain these objects.
+CREATE TABLE IF NOT EXISTS devices (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    brand         VARCHAR(255) NOT NULL,
+    state         VARCHAR(32)  NOT NULL,
+    creation_time TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS devices_seq START WITH 1 INCREMENT BY 50;
+
+-- Databases created before ids came from the sequence hold identity-generated ids.
+-- Hibernate's pooled optimizer treats a sequence value as the upper end of a block
+-- of 50 ids, so restart one full block past the highest existing id.
+ALTER SEQUENCE devices_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM devices);
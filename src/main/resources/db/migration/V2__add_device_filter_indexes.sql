@@ -0,0 +1,10 @@
+-- Normalized brand for case-insensitive lookups: comparing brand_key to a
+-- lower-cased parameter can use an index, unlike upper(brand) = upper(?).
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS brand_key VARCHAR(255);
+UPDATE devices SET brand_key = LOWER(brand) WHERE brand_key IS NULL;
+ALTER TABLE devices ALTER COLUMN brand_key SET NOT NULL;
+
+-- Filter columns lead, id follows so keyset pages (... AND id > ? ORDER BY id)
+-- are served by a range scan of the same index.
+CREATE INDEX IF NOT EXISTS idx_devices_brand_key ON devices (brand_key, id);
+CREATE INDEX IF NOT EXISTS idx_devices_state ON devices (state, id);
@@ -0,0 +1,4 @@
+-- Combined brand + state filters (e.g. Apple devices that are AVAILABLE):
+-- both equalities and the keyset order are answered by one index range.
+-- Brand leads because it is far more selective than the three device states.
+CREATE INDEX IF NOT EXISTS idx_devices_brand_key_state ON devices (brand_key, state, id);
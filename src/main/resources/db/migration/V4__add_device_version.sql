@@ -0,0 +1,2 @@
+-- Optimistic locking: every update increments the version, which is exposed as the ETag
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,18 @@
+-- Change log (transactional outbox): one row per device mutation, written in the
+-- mutating transaction and read by downstream consumers in id order.
+CREATE TABLE IF NOT EXISTS device_changes (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    device_id   BIGINT       NOT NULL,
+    change_type VARCHAR(16)  NOT NULL,
+    name        VARCHAR(255),
+    brand       VARCHAR(255),
+    state       VARCHAR(32),
+    version     BIGINT,
+    changed_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS device_changes_seq START WITH 1 INCREMENT BY 50;
+
+-- Compaction looks for newer changes of the same device; retention deletes by age.
+CREATE INDEX IF NOT EXISTS idx_device_changes_device ON device_changes (device_id, id);
+CREATE INDEX IF NOT EXISTS idx_device_changes_changed_at ON device_changes (changed_at);
@@ -0,0 +1,103 @@
+package com.devicehub.api.cache;
+
+import com.devicehub.api.config.CacheProperties;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.event.DeviceChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeviceCache deviceCache = new DeviceCache(
+            new CacheProperties(100, Duration.ofMinutes(1)), meterRegistry);
+
+    @Test
+    void shouldLoadOnceAndServeHits_whenDeviceIsRequestedRepeatedly() {
+        // Given - a counting loader
+        AtomicInteger loads = new AtomicInteger();
+
+        // When - reading the same id three times
+        for (int i = 0; i < 3; i++) {
+            deviceCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return device(id, DeviceState.AVAILABLE);
+            });
+        }
+
+        // Then - one load, and hits/misses are visible as metrics
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "devices").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "devices").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReloadDevice_whenChangeEventIsReceived() {
+        // Given - a cached device
+        deviceCache.get(1L, id -> device(id, DeviceState.AVAILABLE));
+
+        // When - a committed change for that device arrives
+        DeviceResponse updated = device(1L, DeviceState.IN_USE);
+        deviceCache.onDeviceChanged(DeviceChangedEvent.updated(device(1L, DeviceState.AVAILABLE), updated));
+
+        // Then - the next read goes to the loader again
+        DeviceResponse reloaded = deviceCache.get(1L, id -> updated);
+        assertThat(reloaded.state()).isEqualTo(DeviceState.IN_USE);
+    }
+
+    @Test
+    void shouldNotCacheStaleValue_whenInvalidatedDuringLoad() {
+        // Given - a loader that reads the old value while a delete commits concurrently
+        DeviceResponse stale = deviceCache.get(1L, id -> {
+            deviceCache.invalidate(id);
+            return device(id, DeviceState.AVAILABLE);
+        });
+        assertThat(stale).isNotNull();
+
+        // When - reading again
+        AtomicInteger loads = new AtomicInteger();
+        deviceCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return device(id, DeviceState.INACTIVE);
+        });
+
+        // Then - the stale value was not resurrected, so the loader ran again
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldNotJoinLoadStartedBeforeInvalidation_whenDeviceIsReadAfterChange() {
+        // Given - a load in flight while a change commits, and a reader arriving after the commit
+        AtomicInteger loads = new AtomicInteger();
+        DeviceResponse stale = deviceCache.get(1L, id -> {
+            loads.incrementAndGet();
+            deviceCache.invalidate(id);
+            DeviceResponse fresh = deviceCache.get(id, key -> {
+                loads.incrementAndGet();
+                return device(key, DeviceState.IN_USE);
+            });
+
+            // Then - the later reader ran its own load instead of sharing the stale one
+            assertThat(fresh.state()).isEqualTo(DeviceState.IN_USE);
+            return device(id, DeviceState.AVAILABLE);
+        });
+
+        assertThat(stale.state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get(SingleFlight.CALLS).tag("flight", "device").tag("outcome", "coalesced")
+                .counter().count()).isZero();
+    }
+
+    private DeviceResponse device(Long id, DeviceState state) {
+        return new DeviceResponse(id, "MacBook Pro", "Apple", state, LocalDateTime.now(), 0L);
+    }
+}
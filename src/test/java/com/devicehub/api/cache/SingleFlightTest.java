@@ -0,0 +1,125 @@
+package com.devicehub.api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void shouldExecuteOnce_whenIdenticalCallsOverlap() throws Exception {
+        // Given - a call in flight that blocks until released
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<String> leader = call(() -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - more callers ask for the same key, then the call completes
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(call(() -> {
+                executions.incrementAndGet();
+                return "other";
+            }));
+        }
+        while (calls("coalesced") < 3) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Then - everyone received the single execution's result
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        for (CompletableFuture<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(calls("executed")).isEqualTo(1.0);
+        assertThat(meterRegistry.get(SingleFlight.FANOUT).tag("flight", "test").summary().max()).isEqualTo(4.0);
+    }
+
+    @Test
+    void shouldRethrowToEveryCaller_whenSharedCallFails() throws Exception {
+        // Given - a failing call in flight
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = call(() -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("boom");
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - another caller joins before it fails
+        CompletableFuture<String> follower = call(() -> "unused");
+        while (calls("coalesced") < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Then - both see the original exception, and nothing is left behind
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("boom");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("boom");
+        assertThat(flight.execute("key", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void shouldStartNewCall_whenInFlightCallIsForgotten() {
+        // Given - a call that is detached while it runs, as an invalidation would do
+        String stale = flight.execute("key", () -> {
+            flight.forget("key");
+            // When - a caller arrives after the detach
+            String fresh = flight.execute("key", () -> "new");
+
+            // Then - it did not wait for the detached call but ran its own
+            assertThat(fresh).isEqualTo("new");
+            return "old";
+        });
+
+        assertThat(stale).isEqualTo("old");
+        assertThat(calls("executed")).isEqualTo(2.0);
+        assertThat(calls("coalesced")).isZero();
+    }
+
+    private CompletableFuture<String> call(Supplier<String> supplier) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                result.complete(flight.execute("key", supplier));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get(SingleFlight.CALLS).tag("flight", "test").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.devicehub.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoundedWaitDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectImmediately_whenTooManyThreadsAreWaiting() throws Exception {
+        // Given - a pool that blocks the first caller until released
+        DataSource pool = mock(DataSource.class);
+        CountDownLatch waiting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            waiting.countDown();
+            release.await();
+            return connection;
+        });
+        BoundedWaitDataSource dataSource = new BoundedWaitDataSource(pool, "test", 1, meterRegistry);
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                dataSource.getConnection();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThat(waiting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then - a second caller fails fast and is counted
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get(BoundedWaitDataSource.REJECTED).counter().count()).isEqualTo(1.0);
+
+        // And - once the waiter is served the slot is free again
+        release.countDown();
+        waiter.join();
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+    }
+}
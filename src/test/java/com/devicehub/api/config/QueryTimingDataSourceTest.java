@@ -0,0 +1,91 @@
+package com.devicehub.api.config;
+
+import com.devicehub.api.metrics.QueryStatistics;
+import com.devicehub.api.metrics.QueryStatistics.QuerySummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryTimingDataSourceTest {
+
+    private final QueryStatistics statistics = new QueryStatistics(
+            new QueryStatisticsProperties(true, Duration.ofSeconds(10), 100), new SimpleMeterRegistry());
+    private QueryTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-timing;DB_CLOSE_DELAY=-1");
+        dataSource = new QueryTimingDataSource(h2, statistics);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists probe (id int primary key)");
+            statement.execute("delete from probe");
+            statement.executeUpdate("insert into probe values (1), (2), (3)");
+        }
+        statistics.reset();
+    }
+
+    @Test
+    void shouldCountRowsOfQuery_fromExecuteQuery() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select id from probe where id > ?")) {
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getInt(1);
+                }
+            }
+        }
+
+        assertThat(summary("select id from probe where id > ?"))
+                .satisfies(summary -> {
+                    assertThat(summary.count()).isEqualTo(1);
+                    assertThat(summary.rows()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void shouldCountRowsOfQuery_fromExecuteAndGetResultSet() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThat(statement.execute("select id from probe")).isTrue();
+            // Not recorded until its result set is read and closed
+            assertThat(statistics.summaries()).isEmpty();
+            try (ResultSet resultSet = statement.getResultSet()) {
+                while (resultSet.next()) {
+                    resultSet.getInt(1);
+                }
+            }
+        }
+
+        assertThat(summary("select id from probe"))
+                .satisfies(summary -> {
+                    assertThat(summary.count()).isEqualTo(1);
+                    assertThat(summary.rows()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    void shouldCountChangedRows_fromExecuteOfUpdate() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThat(statement.execute("update probe set id = id + 10 where id < 3")).isFalse();
+        }
+
+        assertThat(summary("update probe set id = id + 10 where id < 3").rows()).isEqualTo(2);
+    }
+
+    private QuerySummary summary(String sql) {
+        return statistics.summaries().stream()
+                .filter(summary -> summary.sql().equals(sql))
+                .findFirst()
+                .orElseThrow();
+    }
+}
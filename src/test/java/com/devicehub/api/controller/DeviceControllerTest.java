@@ -1,32 +1,72 @@
 package com.devicehub.api.controller;
 
+import com.devicehub.api.cache.DeviceChangeSequence;
+import com.devicehub.api.config.LoggingProperties;
+import com.devicehub.api.config.ReplicaProperties;
 import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceBatchItemResult;
+import com.devicehub.api.dto.DeviceBatchResponse;
+import com.devicehub.api.dto.DeviceBulkDeleteRequest;
+import com.devicehub.api.dto.DeviceBulkItemResult;
+import com.devicehub.api.dto.DeviceBulkResponse;
 import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DevicePage;
 import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStateChangeRequest;
 import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceChangedEvent;
+import com.devicehub.api.event.DeviceEventBroadcaster;
+import com.devicehub.api.exception.BatchTooLargeException;
 import com.devicehub.api.exception.BusinessRuleViolationException;
 import com.devicehub.api.exception.DeviceNotFoundException;
+import com.devicehub.api.exception.InvalidCursorException;
+import com.devicehub.api.exception.PreconditionFailedException;
+import com.devicehub.api.exception.WriteQueueFullException;
+import com.devicehub.api.service.DeviceBulkService;
+import com.devicehub.api.service.DeviceChangeLog;
+import com.devicehub.api.service.DeviceExportService;
 import com.devicehub.api.service.DeviceService;
+import com.devicehub.api.service.DeviceStatistics;
+import com.devicehub.api.service.DeviceWriteBehind;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DeviceController.class)
+@Import(DeviceChangeSequence.class)
+@EnableConfigurationProperties({ReplicaProperties.class, LoggingProperties.class})
 class DeviceControllerTest {
 
     @Autowired
@@ -38,6 +78,27 @@ class DeviceControllerTest {
     @MockBean
     private DeviceService deviceService;
 
+    @MockBean
+    private DeviceExportService deviceExportService;
+
+    @MockBean
+    private DeviceBulkService deviceBulkService;
+
+    @MockBean
+    private DeviceEventBroadcaster eventBroadcaster;
+
+    @MockBean
+    private DeviceChangeLog deviceChangeLog;
+
+    @MockBean
+    private DeviceStatistics deviceStatistics;
+
+    @MockBean
+    private DeviceWriteBehind deviceWriteBehind;
+
+    @Autowired
+    private DeviceChangeSequence changeSequence;
+
     // === CREATE OPERATION TESTS ===
 
     @Test
@@ -54,7 +115,8 @@ void shouldCreateDevice_whenValidRequestProvided() throws Exception {
                 "MacBook Pro",
                 "Apple",
                 DeviceState.AVAILABLE,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         when(deviceService.create(any(DeviceCreateRequest.class))).thenReturn(response);
@@ -88,6 +150,131 @@ void shouldReturn400_whenCreatingDeviceWithInvalidData() throws Exception {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnPerItemResults_whenBatchCreating() throws Exception {
+        // Given - one valid and one invalid item
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("MacBook Pro", "Apple", DeviceState.AVAILABLE),
+                new DeviceCreateRequest("", "Apple", DeviceState.AVAILABLE)
+        );
+
+        DeviceBatchResponse response = DeviceBatchResponse.of(List.of(
+                DeviceBatchItemResult.created(0, new DeviceResponse(
+                        1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L)),
+                DeviceBatchItemResult.invalid(1, "name: Name is required")
+        ));
+
+        when(deviceBulkService.createAll(any(Iterator.class))).thenReturn(response);
+
+        // When & Then - should return 200 with per-item outcomes
+        mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].device.id").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+    }
+
+    @Test
+    void shouldParseEachLine_whenBatchCreatingFromNdjson() throws Exception {
+        // Given - an NDJSON body with a blank line and an unreadable line
+        String body = objectMapper.writeValueAsString(
+                new DeviceCreateRequest("MacBook Pro", "Apple", DeviceState.AVAILABLE))
+                + "\n\n{not json}\n";
+
+        List<DeviceCreateRequest> received = new ArrayList<>();
+        when(deviceBulkService.createAll(any())).thenAnswer(invocation -> {
+            Iterator<DeviceCreateRequest> requests = invocation.getArgument(0);
+            requests.forEachRemaining(received::add);
+            return DeviceBatchResponse.of(List.of());
+        });
+
+        // When - posting NDJSON
+        mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        // Then - blank lines are skipped and unreadable lines become null items
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).name()).isEqualTo("MacBook Pro");
+        assertThat(received.get(1)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturn413_whenBatchIsTooLarge() throws Exception {
+        // Given - the service rejects the batch size
+        when(deviceBulkService.createAll(any(Iterator.class))).thenThrow(new BatchTooLargeException(1));
+
+        // When & Then - should return 413
+        mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.title").value("Batch Too Large"));
+    }
+
+    @Test
+    void shouldReturnPerIdOutcomes_whenChangingStatesInBulk() throws Exception {
+        // Given - one updated and one missing device
+        DeviceStateChangeRequest request = new DeviceStateChangeRequest(List.of(1L, 99L), DeviceState.IN_USE);
+
+        when(deviceBulkService.changeStates(request)).thenReturn(DeviceBulkResponse.of(List.of(
+                DeviceBulkItemResult.of(1L, DeviceBulkItemResult.Outcome.UPDATED),
+                DeviceBulkItemResult.of(99L, DeviceBulkItemResult.Outcome.NOT_FOUND)
+        )));
+
+        // When & Then - should return 200 with outcomes and summary
+        mockMvc.perform(post("/api/devices/batch/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.UPDATED").value(1))
+                .andExpect(jsonPath("$.summary.NOT_FOUND").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].id").value(99));
+    }
+
+    @Test
+    void shouldReturnPerIdOutcomes_whenDeletingInBulk() throws Exception {
+        // Given - one deleted, one blocked and one missing device
+        DeviceBulkDeleteRequest request = new DeviceBulkDeleteRequest(List.of(1L, 2L, 99L));
+
+        when(deviceBulkService.deleteAll(request)).thenReturn(DeviceBulkResponse.of(List.of(
+                DeviceBulkItemResult.of(1L, DeviceBulkItemResult.Outcome.DELETED),
+                DeviceBulkItemResult.ruleViolation(2L, "Cannot delete device with state IN_USE"),
+                DeviceBulkItemResult.of(99L, DeviceBulkItemResult.Outcome.NOT_FOUND)
+        )));
+
+        // When & Then - should return 200 with outcomes and summary
+        mockMvc.perform(post("/api/devices/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.DELETED").value(1))
+                .andExpect(jsonPath("$.summary.RULE_VIOLATION").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Cannot delete device with state IN_USE"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void shouldReturn400_whenBulkStateChangeHasNoIds() throws Exception {
+        // Given - an empty id list
+        DeviceStateChangeRequest request = new DeviceStateChangeRequest(List.of(), DeviceState.IN_USE);
+
+        // When & Then - should return 400
+        mockMvc.perform(post("/api/devices/batch/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
     // === READ OPERATION TESTS ===
 
     @Test
@@ -98,7 +285,8 @@ void shouldGetDevice_whenDeviceExists() throws Exception {
                 "MacBook Pro",
                 "Apple",
                 DeviceState.AVAILABLE,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         when(deviceService.findById(1L)).thenReturn(response);
@@ -112,6 +300,26 @@ void shouldGetDevice_whenDeviceExists() throws Exception {
                 .andExpect(jsonPath("$.state").value("AVAILABLE"));
     }
 
+    @Test
+    void shouldReturnETagAndHonourIfNoneMatch_whenGettingDevice() throws Exception {
+        // Given - device at version 4
+        DeviceResponse response = new DeviceResponse(
+                1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 4L);
+
+        when(deviceService.findById(1L)).thenReturn(response);
+
+        // When & Then - the version is exposed as a strong ETag
+        mockMvc.perform(get("/api/devices/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+
+        // When & Then - a client holding the current ETag gets 304 without a body
+        mockMvc.perform(get("/api/devices/1").header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void shouldReturn404_whenDeviceNotFound() throws Exception {
         // Given - non-existent device
@@ -122,32 +330,126 @@ void shouldReturn404_whenDeviceNotFound() throws Exception {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldReturn503WithRetryAfter_whenNoDatabaseConnectionIsAvailable() throws Exception {
+        // Given - the connection pool cannot hand out a connection in time
+        when(deviceService.findById(1L)).thenThrow(new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("devicehub - Connection is not available")));
+
+        // When & Then - a retryable 503, not a 500
+        mockMvc.perform(get("/api/devices/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.title").value("Database Unavailable"));
+    }
+
     @Test
     void shouldListAllDevices_whenNoFilterProvided() throws Exception {
         // Given - multiple devices
         List<DeviceResponse> devices = List.of(
-                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now()),
-                new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now())
+                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L),
+                new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now(), 0L)
         );
 
-        when(deviceService.findAll()).thenReturn(devices);
+        when(deviceService.findPage(DeviceFilter.none(), null, 100)).thenReturn(new DevicePage(devices, null));
 
-        // When & Then - should return 200 with all devices
+        // When & Then - should return 200 with all devices and no next link
         mockMvc.perform(get("/api/devices"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldAnswer304WithoutQuerying_whenNoDeviceChangedSinceETag() throws Exception {
+        // Given - a first poll that returns the list and its ETag
+        List<DeviceResponse> devices = List.of(
+                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L)
+        );
+        when(deviceService.findPage(DeviceFilter.byState(DeviceState.AVAILABLE), null, 100))
+                .thenReturn(new DevicePage(devices, null));
+
+        String etag = mockMvc.perform(get("/api/devices").param("state", "AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then - polling again with the ETag is answered from the change sequence alone
+        mockMvc.perform(get("/api/devices").param("state", "AVAILABLE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(deviceService, times(1)).findPage(any(DeviceFilter.class), any(), anyInt());
+
+        // When & Then - after a committed change the same ETag no longer matches
+        changeSequence.onDeviceChanged(DeviceChangedEvent.created(devices.get(0)));
+        mockMvc.perform(get("/api/devices").param("state", "AVAILABLE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void shouldAdvertiseNextPage_whenMoreDevicesExist() throws Exception {
+        // Given - a full first page with a cursor for the next one
+        List<DeviceResponse> devices = List.of(
+                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L)
+        );
+
+        when(deviceService.findPage(DeviceFilter.none(), null, 1)).thenReturn(new DevicePage(devices, "ZDox"));
+
+        // When & Then - should return the page with Link and cursor headers
+        mockMvc.perform(get("/api/devices")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", "ZDox"))
+                .andExpect(header().string("Link", containsString("after=ZDox")))
+                .andExpect(header().string("Link", containsString("limit=1")))
+                .andExpect(header().string("Link", endsWith("; rel=\"next\"")));
+    }
+
+    @Test
+    void shouldPassCursorToService_whenAfterProvided() throws Exception {
+        // Given - a second page request
+        List<DeviceResponse> devices = List.of(
+                new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now(), 0L)
+        );
+
+        when(deviceService.findPage(DeviceFilter.none(), "ZDox", 1)).thenReturn(new DevicePage(devices, null));
+
+        // When & Then - should return the second page as the last one
+        mockMvc.perform(get("/api/devices")
+                        .param("limit", "1")
+                        .param("after", "ZDox"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void shouldReturn400_whenCursorIsInvalid() throws Exception {
+        // Given - a malformed cursor
+        when(deviceService.findPage(DeviceFilter.none(), "garbage", 100))
+                .thenThrow(new InvalidCursorException("garbage"));
+
+        // When & Then - should return 400
+        mockMvc.perform(get("/api/devices")
+                        .param("after", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid Cursor"));
     }
 
     @Test
     void shouldListDevicesByBrand_whenBrandFilterProvided() throws Exception {
         // Given - devices filtered by brand
         List<DeviceResponse> devices = List.of(
-                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now())
+                new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L)
         );
 
-        when(deviceService.findByBrand("Apple")).thenReturn(devices);
+        when(deviceService.findPage(DeviceFilter.byBrand("Apple"), null, 100)).thenReturn(new DevicePage(devices, null));
 
         // When & Then - should return 200 with filtered devices
         mockMvc.perform(get("/api/devices")
@@ -161,10 +463,10 @@ void shouldListDevicesByBrand_whenBrandFilterProvided() throws Exception {
     void shouldListDevicesByState_whenStateFilterProvided() throws Exception {
         // Given - devices filtered by state
         List<DeviceResponse> devices = List.of(
-                new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now())
+                new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now(), 0L)
         );
 
-        when(deviceService.findByState(DeviceState.IN_USE)).thenReturn(devices);
+        when(deviceService.findPage(DeviceFilter.byState(DeviceState.IN_USE), null, 100)).thenReturn(new DevicePage(devices, null));
 
         // When & Then - should return 200 with filtered devices
         mockMvc.perform(get("/api/devices")
@@ -174,6 +476,59 @@ void shouldListDevicesByState_whenStateFilterProvided() throws Exception {
                 .andExpect(jsonPath("$[0].state").value("IN_USE"));
     }
 
+    @Test
+    void shouldCombineFilters_whenBrandStateNameAndTimeRangeProvided() throws Exception {
+        // Given - all filters at once
+        DeviceFilter filter = new DeviceFilter("Apple", DeviceState.AVAILABLE, "iPad",
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0));
+        List<DeviceResponse> devices = List.of(
+                new DeviceResponse(4L, "iPad Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.of(2024, 1, 15, 9, 30), 0L)
+        );
+
+        when(deviceService.findPage(filter, null, 100)).thenReturn(new DevicePage(devices, null));
+
+        // When & Then - every filter reaches the service, state is not dropped in favour of brand
+        mockMvc.perform(get("/api/devices")
+                        .param("brand", "Apple")
+                        .param("state", "AVAILABLE")
+                        .param("namePrefix", "iPad")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("createdTo", "2024-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(4));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamDevicesAsNdjson_whenExporting() throws Exception {
+        // Given - service emits two devices to the sink
+        doAnswer(invocation -> {
+            Consumer<DeviceResponse> sink = invocation.getArgument(0);
+            sink.accept(new DeviceResponse(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 0L));
+            sink.accept(new DeviceResponse(2L, "iPhone 15", "Apple", DeviceState.IN_USE, LocalDateTime.now(), 0L));
+            return 2L;
+        }).when(deviceExportService).exportAll(any(Consumer.class));
+
+        // When - starting the export
+        MvcResult result = mockMvc.perform(get("/api/devices/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then - one JSON document per line
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], DeviceResponse.class).id()).isEqualTo(1L);
+        assertThat(objectMapper.readValue(lines[1], DeviceResponse.class).id()).isEqualTo(2L);
+    }
+
     // === UPDATE OPERATION TESTS ===
 
     @Test
@@ -190,10 +545,11 @@ void shouldUpdateDevice_whenValidRequestProvided() throws Exception {
                 "MacBook Pro 16",
                 "Apple",
                 DeviceState.INACTIVE,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
-        when(deviceService.update(eq(1L), any(DeviceUpdateRequest.class))).thenReturn(response);
+        when(deviceService.update(eq(1L), any(DeviceUpdateRequest.class), isNull())).thenReturn(response);
 
         // When & Then - should return 200 with updated device
         mockMvc.perform(put("/api/devices/1")
@@ -214,7 +570,7 @@ void shouldReturn409_whenUpdateViolatesBusinessRule() throws Exception {
                 DeviceState.IN_USE
         );
 
-        when(deviceService.update(eq(1L), any(DeviceUpdateRequest.class)))
+        when(deviceService.update(eq(1L), any(DeviceUpdateRequest.class), isNull()))
                 .thenThrow(new BusinessRuleViolationException("Cannot update name or brand when device state is IN_USE"));
 
         // When & Then - should return 409
@@ -238,10 +594,11 @@ void shouldPartiallyUpdateDevice_whenValidRequestProvided() throws Exception {
                 "MacBook Pro",
                 "Apple",
                 DeviceState.INACTIVE,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
-        when(deviceService.partialUpdate(eq(1L), any(DeviceUpdateRequest.class))).thenReturn(response);
+        when(deviceService.partialUpdate(eq(1L), any(DeviceUpdateRequest.class), isNull())).thenReturn(response);
 
         // When & Then - should return 200 with updated device
         mockMvc.perform(patch("/api/devices/1")
@@ -252,6 +609,56 @@ void shouldPartiallyUpdateDevice_whenValidRequestProvided() throws Exception {
                 .andExpect(jsonPath("$.state").value("INACTIVE"));
     }
 
+    @Test
+    void shouldPassIfMatchVersions_andReturn412_whenVersionIsStale() throws Exception {
+        // Given - the device has moved past the client's version
+        DeviceUpdateRequest request = new DeviceUpdateRequest(null, null, DeviceState.INACTIVE);
+
+        when(deviceService.partialUpdate(eq(1L), any(DeviceUpdateRequest.class), eq(List.of(2L, 3L))))
+                .thenThrow(new PreconditionFailedException(1L, 5L));
+
+        // When & Then - strong ETags are parsed, weak ones ignored, and the mismatch maps to 412
+        mockMvc.perform(patch("/api/devices/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\", W/\"4\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.title").value("Precondition Failed"));
+    }
+
+    @Test
+    void shouldReturn202_whenPartialUpdateIsQueuedForWriteBehind() throws Exception {
+        // Given - write-behind acknowledges updates once queued
+        DeviceUpdateRequest request = new DeviceUpdateRequest(null, null, DeviceState.IN_USE);
+        when(deviceWriteBehind.isEnabled()).thenReturn(true);
+        when(deviceWriteBehind.submit(eq(1L), any(DeviceUpdateRequest.class))).thenReturn(Optional.empty());
+
+        // When & Then - accepted without a body, and the service is not called directly
+        mockMvc.perform(patch("/api/devices/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string(""));
+        verify(deviceService, times(0)).partialUpdate(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn429WithRetryAfter_whenWriteBehindQueueIsFull() throws Exception {
+        // Given - the write-behind queue is at capacity
+        DeviceUpdateRequest request = new DeviceUpdateRequest(null, null, DeviceState.IN_USE);
+        when(deviceWriteBehind.isEnabled()).thenReturn(true);
+        when(deviceWriteBehind.submit(eq(1L), any(DeviceUpdateRequest.class)))
+                .thenThrow(new WriteQueueFullException(10));
+
+        // When & Then
+        mockMvc.perform(patch("/api/devices/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.title").value("Update Queue Full"));
+    }
+
     // === DELETE OPERATION TESTS ===
 
     @Test
@@ -268,7 +675,7 @@ void shouldDeleteDevice_whenDeviceExists() throws Exception {
     void shouldReturn409_whenDeletingInUseDevice() throws Exception {
         // Given - device is IN_USE
         doThrow(new BusinessRuleViolationException("Cannot delete device with state IN_USE"))
-                .when(deviceService).delete(1L);
+                .when(deviceService).delete(1L, null);
 
         // When & Then - should return 409
         mockMvc.perform(delete("/api/devices/1"))
@@ -279,7 +686,7 @@ void shouldReturn409_whenDeletingInUseDevice() throws Exception {
     void shouldReturn404_whenDeletingNonExistentDevice() throws Exception {
         // Given - device doesn't exist
         doThrow(new DeviceNotFoundException(999L))
-                .when(deviceService).delete(999L);
+                .when(deviceService).delete(999L, null);
 
         // When & Then - should return 404
         mockMvc.perform(delete("/api/devices/999"))
@@ -0,0 +1,50 @@
+package com.devicehub.api.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that a client over its request rate is answered 429 while other clients are served.
+ */
+@SpringBootTest(properties = {
+        "devicehub.rate-limit.enabled=true",
+        "devicehub.rate-limit.tokens-per-second=0.001",
+        "devicehub.rate-limit.burst=20",
+        "devicehub.rate-limit.list-cost=10"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRejectClientOverItsRate_withRetryAfter() throws Exception {
+        // Given - a client that has spent its bucket on two lists
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/devices").header("X-API-Key", "greedy"))
+                    .andExpect(status().isOk());
+        }
+
+        // When & Then - its next list is rejected with the time until it may retry
+        mockMvc.perform(get("/api/devices").header("X-API-Key", "greedy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.type").value("https://devicehub.api/errors/rate-limit-exceeded"))
+                .andExpect(jsonPath("$.title").value("Rate Limit Exceeded"));
+
+        // When & Then - another client is unaffected, and actuator endpoints are never limited
+        mockMvc.perform(get("/api/devices").header("X-API-Key", "polite"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health").header("X-API-Key", "greedy"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,19 +1,24 @@
 package com.devicehub.api.integration;
 
 import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceBulkDeleteRequest;
 import com.devicehub.api.dto.DeviceCreateRequest;
 import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceStateChangeRequest;
 import com.devicehub.api.dto.DeviceUpdateRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -180,6 +185,259 @@ void shouldFilterDevicesByState() throws Exception {
                 .andExpect(jsonPath("$[*].state", everyItem(is("IN_USE"))));
     }
 
+    @Test
+    void shouldWalkAllPages_whenFollowingNextCursor() throws Exception {
+        // Create devices under a unique brand so other tests do not interfere
+        for (int i = 0; i < 5; i++) {
+            DeviceCreateRequest request = new DeviceCreateRequest(
+                    "Pager " + i,
+                    "PagingBrand",
+                    DeviceState.AVAILABLE
+            );
+
+            mockMvc.perform(post("/api/devices")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        // First page of two
+        MvcResult firstPage = mockMvc.perform(get("/api/devices")
+                        .param("brand", "PagingBrand")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Pager 0"))
+                .andExpect(header().exists("Link"))
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        // Second page of two
+        MvcResult secondPage = mockMvc.perform(get("/api/devices")
+                        .param("brand", "PagingBrand")
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Pager 2"))
+                .andReturn();
+        cursor = secondPage.getResponse().getHeader("X-Next-Cursor");
+
+        // Last page has the remaining device and no next link
+        mockMvc.perform(get("/api/devices")
+                        .param("brand", "PagingBrand")
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Pager 4"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void shouldExportAllDevicesAsNdjson() throws Exception {
+        DeviceCreateRequest request = new DeviceCreateRequest(
+                "Export Device",
+                "ExportBrand",
+                DeviceState.INACTIVE
+        );
+
+        mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        MvcResult exportResult = mockMvc.perform(get("/api/devices/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Every line is a complete device document, ordered by id
+        List<DeviceResponse> exported = body.lines()
+                .map(this::readDevice)
+                .toList();
+        assertThat(exported).isNotEmpty();
+        assertThat(exported).extracting(DeviceResponse::name).contains("Export Device");
+        assertThat(exported).extracting(DeviceResponse::id).isSorted();
+    }
+
+    @Test
+    void shouldCreateValidItemsAndReportInvalidOnes_whenBatchCreating() throws Exception {
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Batch Laptop", "BatchBrand", DeviceState.AVAILABLE),
+                new DeviceCreateRequest("", "BatchBrand", DeviceState.AVAILABLE),
+                new DeviceCreateRequest("Batch Phone", "BatchBrand", DeviceState.IN_USE)
+        );
+
+        MvcResult batchResult = mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].error").value(containsString("name")))
+                .andExpect(jsonPath("$.results[2].status").value("CREATED"))
+                .andReturn();
+
+        // Created devices are readable individually
+        long phoneId = objectMapper.readTree(batchResult.getResponse().getContentAsString())
+                .at("/results/2/device/id").asLong();
+        mockMvc.perform(get("/api/devices/" + phoneId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Batch Phone"))
+                .andExpect(jsonPath("$.state").value("IN_USE"));
+    }
+
+    @Test
+    void shouldReportPerIdOutcomes_whenChangingStatesInBulk() throws Exception {
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Shift Laptop", "ShiftBrand", DeviceState.AVAILABLE),
+                new DeviceCreateRequest("Shift Phone", "ShiftBrand", DeviceState.IN_USE)
+        );
+
+        MvcResult batchResult = mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var batch = objectMapper.readTree(batchResult.getResponse().getContentAsString());
+        long laptopId = batch.at("/results/0/device/id").asLong();
+        long phoneId = batch.at("/results/1/device/id").asLong();
+
+        DeviceStateChangeRequest checkOut = new DeviceStateChangeRequest(
+                List.of(laptopId, phoneId, 99999L, laptopId),
+                DeviceState.IN_USE
+        );
+
+        mockMvc.perform(post("/api/devices/batch/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkOut)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.summary.UPDATED").value(1));
+
+        mockMvc.perform(get("/api/devices/" + laptopId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("IN_USE"))
+                .andExpect(jsonPath("$.name").value("Shift Laptop"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void shouldDeleteEligibleDevices_andKeepInUseOnes_whenDeletingInBulk() throws Exception {
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Retired Laptop", "RetireBrand", DeviceState.AVAILABLE),
+                new DeviceCreateRequest("Retired Phone", "RetireBrand", DeviceState.INACTIVE),
+                new DeviceCreateRequest("Busy Tablet", "RetireBrand", DeviceState.IN_USE)
+        );
+
+        MvcResult batchResult = mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var batch = objectMapper.readTree(batchResult.getResponse().getContentAsString());
+        long laptopId = batch.at("/results/0/device/id").asLong();
+        long phoneId = batch.at("/results/1/device/id").asLong();
+        long tabletId = batch.at("/results/2/device/id").asLong();
+
+        // Warm the cache so the delete must invalidate it
+        mockMvc.perform(get("/api/devices/" + laptopId)).andExpect(status().isOk());
+
+        DeviceBulkDeleteRequest decommission = new DeviceBulkDeleteRequest(
+                List.of(laptopId, tabletId, 99999L, phoneId, laptopId));
+
+        mockMvc.perform(post("/api/devices/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decommission)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(4)))
+                .andExpect(jsonPath("$.results[0].outcome").value("DELETED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("RULE_VIOLATION"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[3].outcome").value("DELETED"))
+                .andExpect(jsonPath("$.summary.DELETED").value(2));
+
+        mockMvc.perform(get("/api/devices/" + laptopId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/devices/" + phoneId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/devices/" + tabletId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("IN_USE"));
+    }
+
+    @Test
+    void shouldRejectStaleIfMatch_andServeNotModified() throws Exception {
+        DeviceCreateRequest createRequest = new DeviceCreateRequest("Locked Tablet", "LockBrand", DeviceState.AVAILABLE);
+        MvcResult createResult = mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn();
+        Long deviceId = objectMapper.readValue(createResult.getResponse().getContentAsString(), DeviceResponse.class).id();
+
+        // First writer wins and moves the device to version 1
+        DeviceUpdateRequest rename = new DeviceUpdateRequest("Locked Tablet 2", null, null);
+        mockMvc.perform(patch("/api/devices/" + deviceId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rename)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // A second writer still holding version 0 is rejected
+        DeviceUpdateRequest lostUpdate = new DeviceUpdateRequest("Stale Name", null, null);
+        mockMvc.perform(patch("/api/devices/" + deviceId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lostUpdate)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/devices/" + deviceId).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        // Revalidation with the current ETag is answered without a body
+        mockMvc.perform(get("/api/devices/" + deviceId).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/devices/" + deviceId))
+                .andExpect(jsonPath("$.name").value("Locked Tablet 2"));
+
+        mockMvc.perform(delete("/api/devices/" + deviceId).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldInvalidateListETag_whenDeviceIsCreated() throws Exception {
+        String etag = mockMvc.perform(get("/api/devices").param("brand", "PollBrand"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/devices").param("brand", "PollBrand").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        DeviceCreateRequest request = new DeviceCreateRequest("Poll Sensor", "PollBrand", DeviceState.AVAILABLE);
+        mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // The change is counted once it has committed, so the next poll sees the new device
+        mockMvc.perform(get("/api/devices").param("brand", "PollBrand").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Poll Sensor"));
+    }
+
     @Test
     void shouldRejectInvalidDeviceCreation() throws Exception {
         // Blank name
@@ -203,4 +461,12 @@ void shouldReturn404ForNonExistentDevice() throws Exception {
                 .andExpect(jsonPath("$.title").value("Device Not Found"))
                 .andExpect(jsonPath("$.detail").value(containsString("Device not found with id: 99999")));
     }
+
+    private DeviceResponse readDevice(String json) {
+        try {
+            return objectMapper.readValue(json, DeviceResponse.class);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Invalid NDJSON line: " + json, ex);
+        }
+    }
 }
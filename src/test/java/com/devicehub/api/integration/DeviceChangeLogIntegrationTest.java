@@ -0,0 +1,128 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.service.DeviceChangeLog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that device mutations are recorded in the change log and read back incrementally.
+ * Retention is zero so that purging expires everything written so far.
+ */
+@SpringBootTest(properties = {
+        "devicehub.changes.retention=0s",
+        "devicehub.changes.compact-after=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeviceChangeLogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceChangeLog deviceChangeLog;
+
+    @Test
+    void shouldRecordEveryMutation_andReadThemIncrementally() throws Exception {
+        // Given - the current end of the log
+        long start = endOfLog();
+
+        // When - a device is created, renamed, retired and deleted
+        long id = createDevice("Change Probe", "LogBrand");
+        updateDevice(id, new DeviceUpdateRequest("Change Probe 2", null, null));
+        updateDevice(id, new DeviceUpdateRequest(null, null, DeviceState.INACTIVE));
+        mockMvc.perform(delete("/api/devices/" + id)).andExpect(status().isNoContent());
+
+        // Then - the changes are read in order, one page at a time
+        JsonNode first = readChanges(start, 2);
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+        assertThat(first.at("/changes/0/type").asText()).isEqualTo("CREATED");
+        assertThat(first.at("/changes/0/deviceId").asLong()).isEqualTo(id);
+        assertThat(first.at("/changes/1/name").asText()).isEqualTo("Change Probe 2");
+        assertThat(first.at("/changes/1/version").asLong()).isEqualTo(1);
+
+        JsonNode second = readChanges(first.get("next").asLong(), 2);
+        assertThat(second.get("hasMore").asBoolean()).isFalse();
+        assertThat(second.at("/changes/0/state").asText()).isEqualTo("INACTIVE");
+        assertThat(second.at("/changes/1/type").asText()).isEqualTo("DELETED");
+        assertThat(second.at("/changes/1/name").isNull()).isTrue();
+
+        // And - a caught-up consumer gets nothing new
+        JsonNode caughtUp = readChanges(second.get("next").asLong(), 100);
+        assertThat(caughtUp.get("changes").size()).isZero();
+        assertThat(caughtUp.get("next").asLong()).isEqualTo(second.get("next").asLong());
+    }
+
+    @Test
+    void shouldReturn410_whenConsumerIsBehindRetention() throws Exception {
+        // Given - a consumer positioned before two changes that then age out of the log
+        createDevice("Expiring Probe", "LogBrand");
+        long behind = endOfLog();
+        createDevice("Expiring Probe 2", "LogBrand");
+        createDevice("Expiring Probe 3", "LogBrand");
+
+        // When - retention runs
+        deviceChangeLog.purge();
+
+        // Then - the stale position is rejected instead of silently skipping the deleted changes
+        mockMvc.perform(get("/api/devices/changes").param("since", String.valueOf(behind)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.title").value("Changes Expired"));
+
+        // And - reading from the start of the retained log continues with new changes
+        createDevice("Fresh Probe", "LogBrand");
+        JsonNode fresh = readChanges(0, 100);
+        assertThat(fresh.get("changes").size()).isEqualTo(1);
+        assertThat(fresh.at("/changes/0/name").asText()).isEqualTo("Fresh Probe");
+    }
+
+    private long endOfLog() throws Exception {
+        JsonNode page = readChanges(0, 1000);
+        while (page.get("hasMore").asBoolean()) {
+            page = readChanges(page.get("next").asLong(), 1000);
+        }
+        return page.get("next").asLong();
+    }
+
+    private long createDevice(String name, String brand) throws Exception {
+        String body = mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceCreateRequest(name, brand, DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private void updateDevice(long id, DeviceUpdateRequest request) throws Exception {
+        mockMvc.perform(patch("/api/devices/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode readChanges(long since, int limit) throws Exception {
+        String body = mockMvc.perform(get("/api/devices/changes")
+                        .param("since", String.valueOf(since))
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,146 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Verifies the Server-Sent Events change feed over a real HTTP connection.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DeviceEventStreamIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldStreamCommittedChanges_andResumeFromLastEventId() throws Exception {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // Given - a subscriber connected before the changes
+            Map<String, String> created;
+            Map<String, String> checkedOut;
+            try (EventReader feed = subscribe(null)) {
+                long id = createDevice(new DeviceCreateRequest("Floor Scanner", "ScanCo", DeviceState.AVAILABLE));
+                send("PATCH", "/api/devices/" + id, new DeviceUpdateRequest(null, null, DeviceState.IN_USE));
+
+                // When - reading the feed
+                created = feed.next();
+                checkedOut = feed.next();
+            }
+
+            // Then - both changes arrive in commit order with before and after state
+            assertThat(created.get("event")).isEqualTo("created");
+            assertThat(checkedOut.get("event")).isEqualTo("updated");
+            JsonNode change = objectMapper.readTree(checkedOut.get("data"));
+            assertThat(change.at("/before/state").asText()).isEqualTo("AVAILABLE");
+            assertThat(change.at("/after/state").asText()).isEqualTo("IN_USE");
+
+            // When - reconnecting with the id of the first event
+            try (EventReader resumed = subscribe(created.get("id"))) {
+                // Then - the missed change is replayed
+                Map<String, String> replayed = resumed.next();
+                assertThat(replayed.get("id")).isEqualTo(checkedOut.get("id"));
+                assertThat(replayed.get("event")).isEqualTo("updated");
+            }
+
+            // When - reconnecting with an id from another run
+            try (EventReader stale = subscribe("0-1")) {
+                // Then - the client is told to reload
+                assertThat(stale.next().get("event")).isEqualTo("resync");
+            }
+        });
+    }
+
+    private EventReader subscribe(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/devices/events"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new EventReader(response.body());
+    }
+
+    private long createDevice(DeviceCreateRequest request) throws Exception {
+        return objectMapper.readTree(send("POST", "/api/devices", request)).get("id").asLong();
+    }
+
+    private String send(String method, String path, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isLessThan(300);
+        return response.body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Minimal SSE parser: returns the fields of each dispatched event, skipping comments.
+     */
+    private static final class EventReader implements AutoCloseable {
+
+        private final BufferedReader reader;
+
+        private EventReader(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        Map<String, String> next() throws Exception {
+            Map<String, String> fields = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    if (fields.containsKey("data")) {
+                        return fields;
+                    }
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                if (colon == 0) {
+                    continue;
+                }
+                fields.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+            }
+            throw new IllegalStateException("Event stream ended");
+        }
+
+        @Override
+        public void close() throws Exception {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceStats;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.repository.DeviceRepository;
+import com.devicehub.api.service.DeviceStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that device statistics follow committed changes and are repaired by reconciliation.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeviceStatisticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceStatistics deviceStatistics;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldAdjustCounts_whenDevicesAreCreatedUpdatedAndDeleted() throws Exception {
+        // Given - the current counts
+        DeviceStats before = stats();
+
+        // When - two devices of one brand (in different spellings) are created and one is checked out
+        long first = createDevice("Stats Tablet", "StatsBrand");
+        createDevice("Stats Phone", "statsbrand");
+        mockMvc.perform(patch("/api/devices/" + first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest(null, null, DeviceState.IN_USE))))
+                .andExpect(status().isOk());
+
+        // Then - both count towards the same brand and the state counts moved
+        DeviceStats after = stats();
+        assertThat(after.total()).isEqualTo(before.total() + 2);
+        assertThat(after.byBrand()).containsEntry("StatsBrand", 2L);
+        assertThat(after.byState().get(DeviceState.AVAILABLE)).isEqualTo(before.byState().get(DeviceState.AVAILABLE) + 1);
+        assertThat(after.byState().get(DeviceState.IN_USE)).isEqualTo(before.byState().get(DeviceState.IN_USE) + 1);
+
+        // When - the checked-out device is released and deleted
+        mockMvc.perform(patch("/api/devices/" + first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest(null, null, DeviceState.AVAILABLE))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/devices/" + first)).andExpect(status().isNoContent());
+
+        // Then - counts match the database
+        DeviceStats afterDelete = stats();
+        assertThat(afterDelete.total()).isEqualTo(before.total() + 1);
+        assertThat(afterDelete.byBrand()).containsEntry("StatsBrand", 1L);
+        assertThat(afterDelete).isEqualTo(reconciled());
+    }
+
+    @Test
+    void shouldRepairDrift_whenRowsChangeOutsideTheService() throws Exception {
+        // Given - a device moved to INACTIVE by a statement that publishes no event
+        long id = createDevice("Drifting Sensor", "DriftBrand");
+        DeviceStats stale = stats();
+        transactionTemplate.executeWithoutResult(status ->
+                deviceRepository.updateStateByIdIn(List.of(id), DeviceState.INACTIVE));
+        assertThat(stats()).isEqualTo(stale);
+
+        // When - reconciliation runs
+        boolean replaced = deviceStatistics.reconcile();
+
+        // Then - the counts reflect the database again
+        assertThat(replaced).isTrue();
+        assertThat(stats().byState().get(DeviceState.INACTIVE))
+                .isEqualTo(stale.byState().get(DeviceState.INACTIVE) + 1);
+    }
+
+    private DeviceStats reconciled() {
+        assertThat(deviceStatistics.reconcile()).isTrue();
+        return deviceStatistics.snapshot();
+    }
+
+    private long createDevice(String name, String brand) throws Exception {
+        String body = mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceCreateRequest(name, brand, DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private DeviceStats stats() throws Exception {
+        String body = mockMvc.perform(get("/api/devices/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, DeviceStats.class);
+    }
+}
@@ -0,0 +1,169 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceResponse;
+import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.service.DeviceService;
+import com.devicehub.api.service.DeviceWriteBehind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that write-behind merges concurrent partial updates and commits them in shared transactions.
+ */
+@SpringBootTest(properties = {
+        "devicehub.write-behind.enabled=true",
+        "devicehub.write-behind.flush-interval=200ms",
+        "devicehub.write-behind.durability=commit"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeviceWriteBehindIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceWriteBehind deviceWriteBehind;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldCommitConcurrentUpdatesInFewerTransactions() throws Exception {
+        // Given - ten available devices
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(deviceService.create(new DeviceCreateRequest("Telemetry " + i, "WriteBehind", DeviceState.AVAILABLE)).id());
+        }
+        long batchesBefore = batches();
+
+        // When - all of them are checked out concurrently
+        List<DeviceResponse> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<DeviceResponse>> futures = new ArrayList<>();
+            for (Long id : ids) {
+                futures.add(executor.submit(() -> deviceWriteBehind
+                        .submit(id, new DeviceUpdateRequest(null, null, DeviceState.IN_USE))
+                        .orElseThrow()));
+            }
+            for (Future<DeviceResponse> future : futures) {
+                responses.add(future.get());
+            }
+        }
+
+        // Then - every caller sees its committed update, written by fewer transactions than updates
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.state()).isEqualTo(DeviceState.IN_USE);
+            assertThat(response.version()).isEqualTo(1L);
+        });
+        assertThat(ids).allSatisfy(id -> assertThat(deviceService.findById(id).state()).isEqualTo(DeviceState.IN_USE));
+        assertThat(batches() - batchesBefore).isLessThan(ids.size());
+    }
+
+    @Test
+    void shouldMergeQueuedUpdatesOfOneDevice() throws Exception {
+        // Given - an available device
+        long id = deviceService.create(new DeviceCreateRequest("Merged", "Before", DeviceState.AVAILABLE)).id();
+
+        // When - name and brand are patched concurrently
+        DeviceResponse renamed;
+        DeviceResponse rebranded;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<DeviceResponse> first = executor.submit(() -> deviceWriteBehind
+                    .submit(id, new DeviceUpdateRequest("Merged Renamed", null, null)).orElseThrow());
+            Future<DeviceResponse> second = executor.submit(() -> deviceWriteBehind
+                    .submit(id, new DeviceUpdateRequest(null, "After", null)).orElseThrow());
+            renamed = first.get();
+            rebranded = second.get();
+        }
+
+        // Then - both changes are applied, and the device reflects both
+        DeviceResponse current = deviceService.findById(id);
+        assertThat(current.name()).isEqualTo("Merged Renamed");
+        assertThat(current.brand()).isEqualTo("After");
+        assertThat(renamed.version()).isPositive();
+        assertThat(rebranded.version()).isPositive();
+    }
+
+    @Test
+    void shouldApplyRenameQueuedAfterReleaseOfInUseDevice() throws Exception {
+        // Given - an in-use device
+        long id = deviceService.create(new DeviceCreateRequest("Checked Out", "WriteBehind", DeviceState.IN_USE)).id();
+
+        // When - it is released, and renamed while the release is still queued
+        DeviceResponse released;
+        DeviceResponse renamed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double queuedBefore = queued();
+            Future<DeviceResponse> release = executor.submit(() -> deviceWriteBehind
+                    .submit(id, new DeviceUpdateRequest(null, null, DeviceState.AVAILABLE)).orElseThrow());
+            for (int attempt = 0; attempt < 100 && queued() == queuedBefore; attempt++) {
+                Thread.sleep(10);
+            }
+            Future<DeviceResponse> rename = executor.submit(() -> deviceWriteBehind
+                    .submit(id, new DeviceUpdateRequest("Returned", null, null)).orElseThrow());
+            released = release.get();
+            renamed = rename.get();
+        }
+
+        // Then - both are written in one batch, each checked against the state it was accepted for
+        assertThat(released.state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(renamed.name()).isEqualTo("Returned");
+        DeviceResponse current = deviceService.findById(id);
+        assertThat(current.state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(current.name()).isEqualTo("Returned");
+    }
+
+    @Test
+    void shouldReject_whenUpdateViolatesRulesAfterQueuedUpdates() throws Exception {
+        // Given - an in-use device
+        long id = deviceService.create(new DeviceCreateRequest("Busy", "WriteBehind", DeviceState.IN_USE)).id();
+
+        // When & Then - renaming is rejected before it is queued
+        mockMvc.perform(patch("/api/devices/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest("Renamed", null, null))))
+                .andExpect(status().isConflict());
+
+        // When & Then - releasing it is committed through the queue and answered with the new version
+        mockMvc.perform(patch("/api/devices/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest(null, null, DeviceState.AVAILABLE))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+    }
+
+    private double queued() {
+        return meterRegistry.get(DeviceWriteBehind.UPDATES).tag("outcome", "queued").counter().count();
+    }
+
+    private long batches() {
+        return meterRegistry.get(DeviceWriteBehind.BATCH_SIZE).summary().count();
+    }
+}
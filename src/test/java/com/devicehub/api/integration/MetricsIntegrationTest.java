@@ -0,0 +1,61 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that request, service, repository and business metrics reach the Prometheus endpoint.
+ */
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldExposeLatencyHistogramsAndCounters_whenScrapingPrometheus() throws Exception {
+        // Given - some traffic, including a missing device
+        mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new DeviceCreateRequest("Pixel 8", "Google", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/devices").param("brand", "Google"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/devices/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        // When & Then - the scrape contains histograms per layer and the business metrics
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString(
+                        "devicehub_service_seconds_bucket{application=\"DeviceHub API\",class=\"com.devicehub.api.service.DeviceService\"")))
+                .andExpect(content().string(containsString("method=\"findPage\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("devicehub_devices_result_size_devices_count{")))
+                .andExpect(content().string(containsString(
+                        "devicehub_devices_not_found_total{application=\"DeviceHub API\",operation=\"findById\"")));
+    }
+}
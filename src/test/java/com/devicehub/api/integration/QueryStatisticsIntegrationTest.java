@@ -0,0 +1,125 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.metrics.QueryStatistics;
+import com.devicehub.api.metrics.QueryStatistics.QuerySummary;
+import com.devicehub.api.repository.DeviceRepository;
+import com.devicehub.api.service.DeviceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies per-statement statistics, slow query counting, the queries endpoint and Hibernate metrics.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,queries",
+        "devicehub.queries.slow-threshold=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryStatisticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRecordRowsPerStatement_andCountSlowOnes() {
+        // Given - three devices of one brand
+        List<Long> ids = List.of(
+                deviceService.create(new DeviceCreateRequest("Probe 1", "QueryStatsRows", DeviceState.AVAILABLE)).id(),
+                deviceService.create(new DeviceCreateRequest("Probe 2", "QueryStatsRows", DeviceState.AVAILABLE)).id(),
+                deviceService.create(new DeviceCreateRequest("Probe 3", "QueryStatsRows", DeviceState.AVAILABLE)).id());
+        queryStatistics.reset();
+        double slowBefore = meterRegistry.get(QueryStatistics.SLOW).counter().count();
+
+        // When - they are listed by brand, and loaded by id twice with lists of different lengths
+        deviceRepository.findResponsesByBrand("QueryStatsRows");
+        transactionTemplate.executeWithoutResult(tx -> {
+            deviceRepository.findResponsesByIdForUpdate(ids);
+            deviceRepository.findResponsesByIdForUpdate(ids.subList(0, 2));
+        });
+
+        // Then - the brand query fetched the three devices
+        List<QuerySummary> summaries = queryStatistics.summaries();
+        assertThat(summaries)
+                .filteredOn(summary -> summary.sql().contains("lower(?)"))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.count()).isEqualTo(1);
+                    assertThat(summary.rows()).isEqualTo(3);
+                    assertThat(summary.totalMs()).isPositive();
+                });
+
+        // Then - both id lists share one entry
+        assertThat(summaries)
+                .filteredOn(summary -> summary.sql().contains("(?, ...)"))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.count()).isEqualTo(2);
+                    assertThat(summary.rows()).isEqualTo(5);
+                });
+
+        // Then - every statement exceeded the zero threshold
+        assertThat(meterRegistry.get(QueryStatistics.SLOW).counter().count() - slowBefore).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldListTopStatements_andReset() throws Exception {
+        // Given - some statements
+        deviceService.create(new DeviceCreateRequest("Probe", "QueryStats", DeviceState.AVAILABLE));
+        deviceRepository.findResponsesByBrand("QueryStats");
+
+        // When & Then - the endpoint ranks them by total time and by p99
+        mockMvc.perform(get("/actuator/queries").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byTotalTime.length()", lessThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.byTotalTime[0].sql").isString())
+                .andExpect(jsonPath("$.byTotalTime[0].count").isNumber())
+                .andExpect(jsonPath("$.byP99[0].p99Ms").isNumber());
+
+        // When & Then - a reset clears them
+        mockMvc.perform(delete("/actuator/queries"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byTotalTime").isEmpty());
+    }
+
+    @Test
+    void shouldPublishHibernateStatistics() {
+        deviceRepository.findResponsesByBrand("QueryStats");
+
+        assertThat(meterRegistry.find("hibernate.statements").functionCounters()).isNotEmpty();
+    }
+}
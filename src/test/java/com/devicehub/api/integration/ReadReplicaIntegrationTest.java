@@ -0,0 +1,101 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.config.ReadWriteRoutingDataSource;
+import com.devicehub.api.config.ReadYourWritesFilter;
+import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceCreateRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies read/write routing against two H2 databases. Nothing replicates between them,
+ * so the replica behaves like one that never catches up: a read shows where it was served from.
+ */
+@SpringBootTest(properties = {
+        "devicehub.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+        "devicehub.datasource.replica.migrate=true",
+        "devicehub.datasource.replica.max-lag=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReadFromReplicaUnlessClientRecentlyWrote() throws Exception {
+        // Given - a device written through the API
+        double replicaReads = routed("replica");
+        MvcResult created = mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceCreateRequest("Replica Tablet", "ReplicaBrand", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn();
+        long id = objectMapper.readValue(created.getResponse().getContentAsString(), JsonNode.class).get("id").asLong();
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        // When & Then - another client lists from the replica, which has not seen the write
+        mockMvc.perform(get("/api/devices").param("brand", "ReplicaBrand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertThat(routed("replica")).isGreaterThan(replicaReads);
+
+        // When & Then - the writing client still reads from the primary
+        mockMvc.perform(get("/api/devices").param("brand", "ReplicaBrand").cookie(sticky))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        // When & Then - single devices are cached, so they are always loaded from the primary
+        mockMvc.perform(get("/api/devices/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Tablet"));
+    }
+
+    @Test
+    void shouldHoldBackListETag_whileReplicaMayLag() throws Exception {
+        // Given - the current list tag
+        String before = mockMvc.perform(get("/api/devices"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When - a change commits
+        mockMvc.perform(post("/api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceCreateRequest("Lag Phone", "LagBrand", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated());
+
+        // Then - the tag does not advance within the maximum lag, so a stale replica list
+        // is never labelled as containing the change
+        mockMvc.perform(get("/api/devices"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, before));
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get(ReadWriteRoutingDataSource.CONNECTIONS).tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,135 @@
+package com.devicehub.api.integration;
+
+import com.devicehub.api.tracing.LayerTracingAspect;
+import com.devicehub.api.tracing.RequestIdFilter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies request id assignment, W3C trace context propagation and the per-layer spans of a request.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CapturingSpanExporter exporter;
+
+    @Test
+    void shouldEchoClientRequestId() throws Exception {
+        mockMvc.perform(get("/api/devices/{id}", Long.MAX_VALUE)
+                        .header(RequestIdFilter.HEADER, "client-req-42"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(RequestIdFilter.HEADER, "client-req-42"));
+    }
+
+    @Test
+    void shouldContinueIncomingTrace_andRecordSpansPerLayer() throws Exception {
+        // When - a request arrives as part of an existing trace, without a request id
+        MvcResult result = mockMvc.perform(get("/api/devices")
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then - the request id is the trace id, and the response names the server span
+        assertThat(result.getResponse().getHeader(RequestIdFilter.HEADER)).isEqualTo(TRACE_ID);
+        assertThat(result.getResponse().getHeader(RequestIdFilter.TRACE_RESPONSE_HEADER))
+                .startsWith("00-" + TRACE_ID + "-")
+                .endsWith("-01");
+
+        // Then - controller, service and repository spans are recorded in the same trace
+        Map<String, List<String>> spansByLayer = awaitSpans(TRACE_ID, 3);
+        assertThat(spansByLayer.get("controller")).contains("DeviceController.listDevices");
+        assertThat(spansByLayer.get("service")).contains("DeviceService.findPage");
+        assertThat(spansByLayer.get("repository")).contains("DeviceRepository.findBy");
+    }
+
+    @Test
+    void shouldReplaceMalformedRequestId() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/devices/{id}", Long.MAX_VALUE)
+                        .header(RequestIdFilter.HEADER, "not valid\r\nInjected: header"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(RequestIdFilter.HEADER)).matches("[0-9a-f]{32}");
+    }
+
+    /**
+     * Spans of the trace by layer tag, once spans of at least the given number of layers were exported.
+     */
+    private Map<String, List<String>> awaitSpans(String traceId, int layers) throws InterruptedException {
+        Map<String, List<String>> spansByLayer = Map.of();
+        for (int attempt = 0; attempt < 50 && spansByLayer.size() < layers; attempt++) {
+            Thread.sleep(100);
+            spansByLayer = exporter.spans.stream()
+                    .filter(span -> span.getTraceId().equals(traceId))
+                    .filter(span -> span.getAttributes().asMap().keySet().stream()
+                            .anyMatch(key -> key.getKey().equals(LayerTracingAspect.LAYER_TAG)))
+                    .collect(Collectors.groupingBy(
+                            span -> span.getAttributes().asMap().entrySet().stream()
+                                    .filter(entry -> entry.getKey().getKey().equals(LayerTracingAspect.LAYER_TAG))
+                                    .map(entry -> entry.getValue().toString())
+                                    .findFirst().orElseThrow(),
+                            Collectors.mapping(SpanData::getName, Collectors.toList())));
+        }
+        return spansByLayer;
+    }
+
+    @TestConfiguration
+    static class ExporterConfig {
+
+        @Bean
+        CapturingSpanExporter capturingSpanExporter() {
+            return new CapturingSpanExporter();
+        }
+    }
+
+    static class CapturingSpanExporter implements SpanExporter {
+
+        private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.devicehub.api.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplerTest {
+
+    @Test
+    void shouldLetOneEventThroughPerInterval_andReportTheSuppressedCount() throws Exception {
+        // Given - a sampler with a short interval
+        LogSampler sampler = new LogSampler(Duration.ofMillis(100));
+
+        // When & Then - the first event is logged, the rest of the interval is counted
+        assertThat(sampler.tryAcquire()).isZero();
+        assertThat(sampler.tryAcquire()).isEqualTo(-1);
+        assertThat(sampler.tryAcquire()).isEqualTo(-1);
+
+        // When & Then - the next interval logs again and reports what was suppressed
+        Thread.sleep(150);
+        assertThat(sampler.tryAcquire()).isEqualTo(2);
+        assertThat(sampler.tryAcquire()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.devicehub.api.ratelimit;
+
+import com.devicehub.api.config.RateLimitProperties;
+import com.devicehub.api.exception.RateLimitExceededException;
+import com.devicehub.api.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void shouldShedRequests_whenTheConcurrencyLimitIsReached() {
+        // Given - room for one request at a time
+        AdmissionControlInterceptor interceptor = interceptor(1000, 1);
+        MockHttpServletRequest first = request("GET", "/api/devices/{id}", "10.0.0.1");
+        MockHttpServletRequest second = request("GET", "/api/devices/{id}", "10.0.0.2");
+        assertThat(interceptor.preHandle(first, response, null)).isTrue();
+
+        // When & Then - a second request is rejected while the first is in progress, and counted
+        assertThatThrownBy(() -> interceptor.preHandle(second, response, null))
+                .isInstanceOf(ServerBusyException.class);
+        assertThat(meterRegistry.get(AdmissionControlInterceptor.REJECTED)
+                .tags("reason", "concurrency", "operation", "read").counter().count()).isEqualTo(1.0);
+
+        // When & Then - once the first completes, the slot is free again
+        interceptor.afterCompletion(first, response, null, null);
+        assertThat(interceptor.preHandle(second, response, null)).isTrue();
+        interceptor.afterCompletion(second, response, null, null);
+        assertThat(meterRegistry.get(AdmissionControlInterceptor.ACTIVE).gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldChargeListsMoreThanReads_perClient() {
+        // Given - a bucket of 20 tokens per client, lists costing 10
+        AdmissionControlInterceptor interceptor = interceptor(20, 100);
+
+        // When & Then - two lists use up one client's bucket, the third is rejected
+        for (int i = 0; i < 2; i++) {
+            complete(interceptor, request("GET", "/api/devices", "10.0.0.1"));
+        }
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/api/devices", "10.0.0.1"), response, null))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfterSeconds()).isPositive());
+
+        // When & Then - another client, or the same address with its own API key, has its own bucket
+        for (int i = 0; i < 20; i++) {
+            complete(interceptor, request("GET", "/api/devices/{id}", "10.0.0.2"));
+        }
+        MockHttpServletRequest withKey = request("GET", "/api/devices", "10.0.0.1");
+        withKey.addHeader("X-API-Key", "integration-a");
+        complete(interceptor, withKey);
+
+        assertThat(meterRegistry.get(AdmissionControlInterceptor.REJECTED)
+                .tags("reason", "rate_limit", "operation", "list").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldClassifyRequestsByMethodAndMappedPath() {
+        assertThat(AdmissionControlInterceptor.operation(request("GET", "/api/devices", "")))
+                .isEqualTo(AdmissionControlInterceptor.Operation.LIST);
+        assertThat(AdmissionControlInterceptor.operation(request("GET", "/api/devices/export", "")))
+                .isEqualTo(AdmissionControlInterceptor.Operation.LIST);
+        assertThat(AdmissionControlInterceptor.operation(request("GET", "/api/devices/{id}", "")))
+                .isEqualTo(AdmissionControlInterceptor.Operation.READ);
+        assertThat(AdmissionControlInterceptor.operation(request("POST", "/api/devices", "")))
+                .isEqualTo(AdmissionControlInterceptor.Operation.WRITE);
+        assertThat(AdmissionControlInterceptor.operation(request("PATCH", "/api/devices/{id}", "")))
+                .isEqualTo(AdmissionControlInterceptor.Operation.WRITE);
+    }
+
+    private AdmissionControlInterceptor interceptor(int burst, int maxConcurrent) {
+        RateLimitProperties properties = new RateLimitProperties(
+                true, 0.001, burst, 10, 1, 2, "X-API-Key", 1000, maxConcurrent);
+        return new AdmissionControlInterceptor(properties, meterRegistry);
+    }
+
+    private void complete(AdmissionControlInterceptor interceptor, MockHttpServletRequest request) {
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package com.devicehub.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void shouldAllowABurst_thenReportTheWaitForTheNextTokens() {
+        // Given - a bucket of 10 tokens refilling at 100 per second, on a clock the test advances
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(100, 10, now::get);
+
+        // When & Then - the full bucket can be spent at once, weighted by cost
+        assertThat(bucket.tryAcquire(5)).isZero();
+        assertThat(bucket.tryAcquire(5)).isZero();
+
+        // When & Then - an empty bucket reports how long until the cost has refilled
+        now.addAndGet(5_000_000L);
+        assertThat(bucket.tryAcquire(2)).isEqualTo(15_000_000L);
+
+        // When & Then - once refilled, tokens can be taken again, but no more than refilled
+        now.addAndGet(15_000_000L);
+        assertThat(bucket.tryAcquire(2)).isZero();
+        assertThat(bucket.tryAcquire(1)).isEqualTo(10_000_000L);
+    }
+
+    @Test
+    void shouldNotRefillBeyondTheBucketSize() {
+        // Given - a bucket idle far longer than it takes to fill
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(100, 10, now::get);
+        now.addAndGet(60_000_000_000L);
+
+        // When & Then - only a full bucket can be spent
+        assertThat(bucket.tryAcquire(10)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void shouldNeverAdmitMoreThanTheBucketHolds_underConcurrentCallers() throws Exception {
+        // Given - a bucket of 100 tokens that practically does not refill
+        TokenBucket bucket = new TokenBucket(0.001, 100);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When - many callers race for single tokens
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    if (bucket.tryAcquire(1) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+
+        // Then - exactly the bucket's tokens were handed out
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+}
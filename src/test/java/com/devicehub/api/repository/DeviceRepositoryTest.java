@@ -2,13 +2,19 @@
 
 import com.devicehub.api.domain.Device;
 import com.devicehub.api.domain.DeviceState;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DeviceResponse;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -115,6 +121,126 @@ void shouldBeCaseInsensitive_whenSearchingByBrand() {
         assertThat(mixedCase.get(0).getId()).isEqualTo(device.getId());
     }
 
+    @Test
+    void shouldReturnDevicesAfterGivenId_whenPagingByKeyset() {
+        // Given - several devices of mixed brands
+        Device first = entityManager.persist(createDevice("MacBook Pro", "Apple", DeviceState.AVAILABLE));
+        Device second = entityManager.persist(createDevice("Galaxy S24", "Samsung", DeviceState.AVAILABLE));
+        Device third = entityManager.persist(createDevice("iPhone 15", "Apple", DeviceState.IN_USE));
+        Device fourth = entityManager.persist(createDevice("iPad Pro", "Apple", DeviceState.AVAILABLE));
+        entityManager.flush();
+
+        // When - paging with a limit of two
+        List<Device> firstPage = page(DeviceFilter.none(), 0L, 2);
+        List<Device> secondPage = page(DeviceFilter.none(), firstPage.get(1).getId(), 2);
+        List<Device> applePage = page(DeviceFilter.byBrand("apple"), first.getId(), 10);
+        List<Device> availablePage = page(DeviceFilter.byState(DeviceState.AVAILABLE), first.getId(), 10);
+
+        // Then - pages are contiguous and ordered by id
+        assertThat(firstPage).extracting(Device::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(Device::getId).containsExactly(third.getId(), fourth.getId());
+        assertThat(applePage).extracting(Device::getId).containsExactly(third.getId(), fourth.getId());
+        assertThat(availablePage).extracting(Device::getId).containsExactly(second.getId(), fourth.getId());
+    }
+
+    @Test
+    void shouldCombineAllCriteria_whenFilteringWithSpecifications() {
+        // Given - devices that each differ from the target in one criterion
+        Device match = entityManager.persist(createDevice("iPad Pro", "Apple", DeviceState.AVAILABLE));
+        entityManager.persist(createDevice("iPad Air", "Apple", DeviceState.IN_USE));
+        entityManager.persist(createDevice("iPad Tab", "Samsung", DeviceState.AVAILABLE));
+        entityManager.persist(createDevice("MacBook Pro", "Apple", DeviceState.AVAILABLE));
+        entityManager.persist(createDevice("i_ad", "Apple", DeviceState.AVAILABLE));
+        entityManager.flush();
+        LocalDateTime from = match.getCreationTime().minusMinutes(1);
+        LocalDateTime to = match.getCreationTime().plusMinutes(1);
+
+        // When - filtering by brand, state, name prefix and creation time together
+        List<Device> devices = page(new DeviceFilter("APPLE", DeviceState.AVAILABLE, "iPad", from, to), 0L, 10);
+        List<Device> wildcard = page(new DeviceFilter(null, null, "i_", null, null), 0L, 10);
+        List<Device> outOfRange = page(new DeviceFilter("Apple", DeviceState.AVAILABLE, "iPad", to, null), 0L, 10);
+
+        // Then - only rows matching every criterion are returned; LIKE wildcards are literal
+        assertThat(devices).extracting(Device::getId).containsExactly(match.getId());
+        assertThat(wildcard).extracting(Device::getName).containsExactly("i_ad");
+        assertThat(outOfRange).isEmpty();
+    }
+
+    @Test
+    void shouldMaintainNormalizedBrandKey_whenBrandIsWritten() {
+        // Given - a device with a mixed-case brand
+        Device device = entityManager.persistAndFlush(createDevice("Pixel 8", "GooGle", DeviceState.AVAILABLE));
+        assertThat(device.getBrandKey()).isEqualTo("google");
+
+        // When - changing the brand
+        device.setBrand("Alphabet");
+        entityManager.flush();
+
+        // Then - the normalized key follows
+        entityManager.clear();
+        assertThat(entityManager.find(Device.class, device.getId()).getBrandKey()).isEqualTo("alphabet");
+    }
+
+    @Test
+    void shouldUseIndexes_whenFilteringByBrandOrState() {
+        // When - asking H2 for the plans of the keyset filter queries
+        String brandPlan = explain(
+                "SELECT * FROM devices WHERE brand_key = 'apple' AND id > 0 ORDER BY id FETCH FIRST 100 ROWS ONLY");
+        String statePlan = explain(
+                "SELECT * FROM devices WHERE state = 'AVAILABLE' AND id > 0 ORDER BY id FETCH FIRST 100 ROWS ONLY");
+
+        // Then - both are index lookups rather than table scans
+        assertThat(brandPlan).containsIgnoringCase("IDX_DEVICES_BRAND_KEY");
+        assertThat(statePlan).containsIgnoringCase("IDX_DEVICES_STATE");
+    }
+
+    private List<Device> page(DeviceFilter filter, long afterId, int limit) {
+        return deviceRepository.findBy(
+                DeviceSpecifications.matching(filter).and(DeviceSpecifications.idGreaterThan(afterId)),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult()
+                .toString();
+    }
+
+    @Test
+    void shouldProjectResponsesWithoutManagingEntities_whenReadingAsResponses() {
+        // Given - a persisted device and an empty persistence context
+        Device device = entityManager.persistFlushFind(createDevice("Pixel 8", "Google", DeviceState.IN_USE));
+        entityManager.clear();
+
+        // When - reading it through the projections
+        Optional<DeviceResponse> byId = deviceRepository.findResponseById(device.getId());
+        List<DeviceResponse> all = deviceRepository.findAllResponses();
+
+        // Then - every field is carried over and no entity was loaded
+        assertThat(byId).contains(new DeviceResponse(device.getId(), "Pixel 8", "Google", DeviceState.IN_USE,
+                device.getCreationTime(), device.getVersion()));
+        assertThat(all).contains(byId.get());
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldFilterProjections_byBrandIgnoringCaseAndByState() {
+        // Given - devices with different brands and states
+        entityManager.persist(createDevice("MacBook Pro", "Apple", DeviceState.AVAILABLE));
+        entityManager.persist(createDevice("iPhone 15", "Apple", DeviceState.IN_USE));
+        entityManager.persist(createDevice("Galaxy S24", "Samsung", DeviceState.IN_USE));
+        entityManager.flush();
+
+        // When - filtering the projections
+        List<DeviceResponse> apple = deviceRepository.findResponsesByBrand("APPLE");
+        List<DeviceResponse> inUse = deviceRepository.findResponsesByState(DeviceState.IN_USE);
+
+        // Then - same rows as the entity queries
+        assertThat(apple).extracting(DeviceResponse::name).containsExactlyInAnyOrder("MacBook Pro", "iPhone 15");
+        assertThat(inUse).extracting(DeviceResponse::name).containsExactlyInAnyOrder("iPhone 15", "Galaxy S24");
+    }
+
     private Device createDevice(String name, String brand, DeviceState state) {
         return Device.builder()
                 .name(name)
@@ -1,26 +1,49 @@
 package com.devicehub.api.service;
 
+import com.devicehub.api.cache.DeviceCache;
+import com.devicehub.api.cache.DeviceListCoalescer;
+import com.devicehub.api.config.CacheProperties;
 import com.devicehub.api.domain.Device;
 import com.devicehub.api.domain.DeviceState;
 import com.devicehub.api.dto.DeviceCreateRequest;
+import com.devicehub.api.dto.DeviceFilter;
+import com.devicehub.api.dto.DevicePage;
 import com.devicehub.api.dto.DeviceResponse;
 import com.devicehub.api.dto.DeviceUpdateRequest;
+import com.devicehub.api.event.DeviceChangedEvent;
 import com.devicehub.api.exception.BusinessRuleViolationException;
 import com.devicehub.api.exception.DeviceNotFoundException;
+import com.devicehub.api.exception.InvalidCursorException;
+import com.devicehub.api.exception.PreconditionFailedException;
+import com.devicehub.api.metrics.DeviceMetrics;
 import com.devicehub.api.repository.DeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +53,21 @@ class DeviceServiceTest {
     @Mock
     private DeviceRepository deviceRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DeviceCache deviceCache = new DeviceCache(
+            new CacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Spy
+    private DeviceListCoalescer listCoalescer = new DeviceListCoalescer(new SimpleMeterRegistry());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DeviceMetrics deviceMetrics = new DeviceMetrics(meterRegistry);
+
     @InjectMocks
     private DeviceService deviceService;
 
@@ -64,6 +102,7 @@ void shouldCreateDevice_whenValidRequestProvided() {
         assertThat(response.creationTime()).isNotNull();
 
         verify(deviceRepository).save(any(Device.class));
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.created(response));
     }
 
     @Test
@@ -136,7 +175,7 @@ void shouldReturnDevice_whenIdExists() {
                 .creationTime(LocalDateTime.now())
                 .build();
 
-        when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(device));
+        when(deviceRepository.findResponseById(deviceId)).thenReturn(Optional.of(DeviceMapper.toResponse(device)));
 
         // When - finding device by ID
         DeviceResponse response = deviceService.findById(deviceId);
@@ -145,33 +184,49 @@ void shouldReturnDevice_whenIdExists() {
         assertThat(response).isNotNull();
         assertThat(response.id()).isEqualTo(deviceId);
         assertThat(response.name()).isEqualTo("MacBook Pro");
-        verify(deviceRepository).findById(deviceId);
+        verify(deviceRepository).findResponseById(deviceId);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache_whenDeviceIsCached() {
+        // Given - existing device
+        Long deviceId = 1L;
+        Device device = createDevice(deviceId, "MacBook Pro", "Apple", DeviceState.AVAILABLE);
+        when(deviceRepository.findResponseById(deviceId)).thenReturn(Optional.of(DeviceMapper.toResponse(device)));
+
+        // When - finding the same device twice
+        DeviceResponse first = deviceService.findById(deviceId);
+        DeviceResponse second = deviceService.findById(deviceId);
+
+        // Then - only the first lookup reaches the repository
+        assertThat(second).isEqualTo(first);
+        verify(deviceRepository, times(1)).findResponseById(deviceId);
     }
 
     @Test
     void shouldThrowDeviceNotFoundException_whenIdDoesNotExist() {
         // Given - non-existent ID
         Long deviceId = 999L;
-        when(deviceRepository.findById(deviceId)).thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(deviceId)).thenReturn(Optional.empty());
 
         // When & Then - should throw exception
         assertThatThrownBy(() -> deviceService.findById(deviceId))
                 .isInstanceOf(DeviceNotFoundException.class)
                 .hasMessageContaining("Device not found with id: 999");
 
-        verify(deviceRepository).findById(deviceId);
+        verify(deviceRepository).findResponseById(deviceId);
     }
 
     @Test
     void shouldReturnAllDevices_whenNoFiltersApplied() {
         // Given - multiple devices
-        List<Device> devices = List.of(
+        List<DeviceResponse> devices = responses(
                 createDevice(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE),
                 createDevice(2L, "iPhone 15", "Apple", DeviceState.IN_USE),
                 createDevice(3L, "Galaxy S24", "Samsung", DeviceState.AVAILABLE)
         );
 
-        when(deviceRepository.findAll()).thenReturn(devices);
+        when(deviceRepository.findAllResponses()).thenReturn(devices);
 
         // When - finding all devices
         List<DeviceResponse> responses = deviceService.findAll();
@@ -180,18 +235,20 @@ void shouldReturnAllDevices_whenNoFiltersApplied() {
         assertThat(responses).hasSize(3);
         assertThat(responses).extracting(DeviceResponse::name)
                 .containsExactly("MacBook Pro", "iPhone 15", "Galaxy S24");
-        verify(deviceRepository).findAll();
+        verify(deviceRepository).findAllResponses();
+        assertThat(meterRegistry.get(DeviceMetrics.RESULT_SIZE).tag("operation", "findAll").summary().totalAmount())
+                .isEqualTo(3);
     }
 
     @Test
     void shouldReturnFilteredDevices_whenBrandProvided() {
         // Given - devices filtered by brand
-        List<Device> appleDevices = List.of(
+        List<DeviceResponse> appleDevices = responses(
                 createDevice(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE),
                 createDevice(2L, "iPhone 15", "Apple", DeviceState.IN_USE)
         );
 
-        when(deviceRepository.findByBrandIgnoreCase("Apple")).thenReturn(appleDevices);
+        when(deviceRepository.findResponsesByBrand("Apple")).thenReturn(appleDevices);
 
         // When - finding by brand
         List<DeviceResponse> responses = deviceService.findByBrand("Apple");
@@ -200,18 +257,18 @@ void shouldReturnFilteredDevices_whenBrandProvided() {
         assertThat(responses).hasSize(2);
         assertThat(responses).extracting(DeviceResponse::brand)
                 .containsOnly("Apple");
-        verify(deviceRepository).findByBrandIgnoreCase("Apple");
+        verify(deviceRepository).findResponsesByBrand("Apple");
     }
 
     @Test
     void shouldReturnFilteredDevices_whenStateProvided() {
         // Given - devices filtered by state
-        List<Device> availableDevices = List.of(
+        List<DeviceResponse> availableDevices = responses(
                 createDevice(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE),
                 createDevice(2L, "Galaxy S24", "Samsung", DeviceState.AVAILABLE)
         );
 
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(availableDevices);
+        when(deviceRepository.findResponsesByState(DeviceState.AVAILABLE)).thenReturn(availableDevices);
 
         // When - finding by state
         List<DeviceResponse> responses = deviceService.findByState(DeviceState.AVAILABLE);
@@ -220,7 +277,54 @@ void shouldReturnFilteredDevices_whenStateProvided() {
         assertThat(responses).hasSize(2);
         assertThat(responses).extracting(DeviceResponse::state)
                 .containsOnly(DeviceState.AVAILABLE);
-        verify(deviceRepository).findByState(DeviceState.AVAILABLE);
+        verify(deviceRepository).findResponsesByState(DeviceState.AVAILABLE);
+    }
+
+    @Test
+    void shouldReturnPageWithNextCursor_whenMoreDevicesExist() {
+        // Given - repository returns one row more than the requested page size
+        List<Device> devices = List.of(
+                createDevice(1L, "MacBook Pro", "Apple", DeviceState.AVAILABLE),
+                createDevice(2L, "iPhone 15", "Apple", DeviceState.IN_USE),
+                createDevice(3L, "Galaxy S24", "Samsung", DeviceState.AVAILABLE)
+        );
+        FetchableFluentQuery<Device> query = stubPageQuery(devices);
+
+        // When - requesting the first page of two
+        DevicePage page = deviceService.findPage(DeviceFilter.none(), null, 2);
+
+        // Then - two devices and a cursor positioned after the last one
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(1L, 2L);
+        assertThat(page.hasNext()).isTrue();
+        verify(query).sortBy(Sort.by("id"));
+        verify(query).limit(3);
+
+        when(query.all()).thenReturn(List.of(devices.get(2)));
+
+        DevicePage nextPage = deviceService.findPage(DeviceFilter.none(), page.nextCursor(), 2);
+
+        assertThat(nextPage.items()).extracting(DeviceResponse::id).containsExactly(3L);
+        assertThat(nextPage.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldCapPageSize_whenLimitExceedsMaximum() {
+        // Given - an oversized limit
+        FetchableFluentQuery<Device> query = stubPageQuery(List.of());
+
+        // When - requesting the page
+        DevicePage page = deviceService.findPage(DeviceFilter.byState(DeviceState.AVAILABLE), null, 1_000_000);
+
+        // Then - the query is bounded by the maximum page size
+        assertThat(page.items()).isEmpty();
+        verify(query).limit(DeviceService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void shouldThrowInvalidCursorException_whenCursorIsMalformed() {
+        // When & Then - malformed cursor is rejected before querying
+        assertThatThrownBy(() -> deviceService.findPage(DeviceFilter.none(), "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
     }
 
     // UPDATE OPERATIONS TESTS
@@ -246,7 +350,7 @@ void shouldUpdateDevice_whenStateIsNotInUse() {
                 .build();
 
         when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(existingDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
+        when(deviceRepository.saveAndFlush(any(Device.class))).thenReturn(updatedDevice);
 
         // When - updating device
         DeviceResponse response = deviceService.update(deviceId, updateRequest);
@@ -254,7 +358,7 @@ void shouldUpdateDevice_whenStateIsNotInUse() {
         // Then - device should be updated
         assertThat(response.name()).isEqualTo("MacBook Pro 16");
         verify(deviceRepository).findById(deviceId);
-        verify(deviceRepository).save(any(Device.class));
+        verify(deviceRepository).saveAndFlush(any(Device.class));
     }
 
     @Test
@@ -324,14 +428,14 @@ void shouldAllowStateChange_whenDeviceIsInUse() {
                 .build();
 
         when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(existingDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
+        when(deviceRepository.saveAndFlush(any(Device.class))).thenReturn(updatedDevice);
 
         // When - updating state only
         DeviceResponse response = deviceService.update(deviceId, updateRequest);
 
         // Then - state should be updated
         assertThat(response.state()).isEqualTo(DeviceState.AVAILABLE);
-        verify(deviceRepository).save(any(Device.class));
+        verify(deviceRepository).saveAndFlush(any(Device.class));
     }
 
     @Test
@@ -362,7 +466,7 @@ void shouldIgnoreCreationTime_whenProvidedInUpdateRequest() {
                 .build();
 
         when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(existingDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
+        when(deviceRepository.saveAndFlush(any(Device.class))).thenReturn(updatedDevice);
 
         // When - updating device
         DeviceResponse response = deviceService.update(deviceId, updateRequest);
@@ -392,7 +496,7 @@ void shouldPartiallyUpdateDevice_whenOnlySomeFieldsProvided() {
                 .build();
 
         when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(existingDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
+        when(deviceRepository.saveAndFlush(any(Device.class))).thenReturn(updatedDevice);
 
         // When - partially updating device
         DeviceResponse response = deviceService.partialUpdate(deviceId, updateRequest);
@@ -456,6 +560,69 @@ void shouldThrowBusinessRuleViolationException_whenDeletingInUseDevice() {
                 .hasMessageContaining("IN_USE");
     }
 
+    @Test
+    void shouldThrowPreconditionFailedException_whenExpectedVersionIsStale() {
+        // Given - device at version 3
+        Long deviceId = 1L;
+        Device device = Device.builder()
+                .id(deviceId)
+                .name("MacBook Pro")
+                .brand("Apple")
+                .state(DeviceState.AVAILABLE)
+                .creationTime(LocalDateTime.now())
+                .version(3L)
+                .build();
+        DeviceUpdateRequest request = new DeviceUpdateRequest("MacBook Air", null, null);
+
+        when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(device));
+
+        // When & Then - a client holding version 2 is rejected and nothing is written
+        assertThatThrownBy(() -> deviceService.partialUpdate(deviceId, request, List.of(2L)))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("version 3");
+        assertThatThrownBy(() -> deviceService.delete(deviceId, List.of()))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(deviceRepository, never()).saveAndFlush(any(Device.class));
+        verify(deviceRepository, never()).delete(any(Device.class));
+    }
+
+    @Test
+    void shouldCountNotFoundAndRuleViolations_whenRequestsAreRejected() {
+        // Given - a missing device and an IN_USE device
+        when(deviceRepository.findResponseById(999L)).thenReturn(Optional.empty());
+        when(deviceRepository.findById(1L))
+                .thenReturn(Optional.of(createDevice(1L, "iPhone 15", "Apple", DeviceState.IN_USE)));
+
+        // When - both requests are rejected
+        assertThatThrownBy(() -> deviceService.findById(999L)).isInstanceOf(DeviceNotFoundException.class);
+        assertThatThrownBy(() -> deviceService.delete(1L)).isInstanceOf(BusinessRuleViolationException.class);
+
+        // Then - each rejection is counted under its operation
+        assertThat(meterRegistry.get(DeviceMetrics.NOT_FOUND).tag("operation", "findById").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(DeviceMetrics.RULE_VIOLATIONS).tag("operation", "delete").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishDeletedEvent_whenDeviceIsDeleted() {
+        // Given - device in INACTIVE state
+        Long deviceId = 1L;
+        Device device = createDevice(deviceId, "Old Laptop", "Dell", DeviceState.INACTIVE);
+
+        when(deviceRepository.findById(deviceId)).thenReturn(Optional.of(device));
+
+        // When - deleting device
+        deviceService.delete(deviceId);
+
+        // Then - a deleted event carrying the last known state is published
+        ArgumentCaptor<DeviceChangedEvent> event = ArgumentCaptor.forClass(DeviceChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(DeviceChangedEvent.Type.DELETED);
+        assertThat(event.getValue().before().name()).isEqualTo("Old Laptop");
+        assertThat(event.getValue().after()).isNull();
+    }
+
     @Test
     void shouldThrowDeviceNotFoundException_whenDeletingNonExistentDevice() {
         // Given - non-existent device
@@ -477,4 +644,17 @@ private Device createDevice(Long id, String name, String brand, DeviceState stat
                 .creationTime(LocalDateTime.now())
                 .build();
     }
+
+    private List<DeviceResponse> responses(Device... devices) {
+        return Arrays.stream(devices).map(DeviceMapper::toResponse).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private FetchableFluentQuery<Device> stubPageQuery(List<Device> result) {
+        FetchableFluentQuery<Device> query = mock(FetchableFluentQuery.class, RETURNS_SELF);
+        when(query.all()).thenReturn(result);
+        when(deviceRepository.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                invocation.<Function<FetchableFluentQuery<Device>, ?>>getArgument(1).apply(query));
+        return query;
+    }
 }